@@ -0,0 +1,57 @@
+package baymax;
+
+import baymax.task.Deadline;
+import baymax.task.Event;
+import baymax.task.Task;
+import baymax.task.Todo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates task lists for the benchmarks.
+ * The same seed is used every time, so every run measures the same data.
+ */
+public class Fixtures {
+
+    private static final String[] WORDS = {
+        "read", "book", "submit", "report", "buy", "groceries", "call", "mum", "finish", "project",
+        "review", "notes", "plan", "trip", "pay", "bills", "clean", "room", "meeting", "lecture"
+    };
+    private static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 1);
+
+    /**
+     * Generates a mix of todos, deadlines and events.
+     *
+     * @param count The number of tasks to generate.
+     * @return The generated tasks.
+     */
+    public static List<Task> tasks(int count) {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i;
+            boolean isDone = random.nextInt(4) == 0;
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(730));
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo(description, isDone));
+                break;
+            case 1:
+                tasks.add(new Deadline(description, LocalDateTime.of(date, LocalTime.of(random.nextInt(24), 0)),
+                        isDone));
+                break;
+            default:
+                LocalTime from = LocalTime.of(random.nextInt(20), 0);
+                tasks.add(new Event(description, date, from, from.plusHours(2), isDone));
+                break;
+            }
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,70 @@
+package baymax.parser;
+
+import baymax.Fixtures;
+import baymax.exception.BaymaxException;
+import baymax.task.Task;
+import baymax.tasklist.TaskList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many commands can be parsed and run per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    // Undoing the three adds and the mark leaves the list as it started
+    private static final String[] COMMANDS = {
+        "todo read book",
+        "deadline submit report /by 2025-03-01 1800",
+        "event project meeting /on 2025-03-02 /from 1400 /to 1600",
+        "mark 1",
+        "find report",
+        "list 1",
+        "undo",
+        "undo",
+        "undo",
+        "undo"
+    };
+
+    private Parser parser;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        TaskList taskList = new TaskList(null, TaskList.DEFAULT_HISTORY_LIMIT);
+        for (Task task : Fixtures.tasks(100)) {
+            taskList.addTask(task);
+        }
+        parser = new Parser(taskList);
+    }
+
+    @Benchmark
+    public String processCommand() throws BaymaxException {
+        String command = COMMANDS[next];
+        next = (next + 1) % COMMANDS.length;
+        return parser.processCommand(command);
+    }
+
+    @Benchmark
+    public Command parseCommand() throws BaymaxException {
+        String command = COMMANDS[next];
+        next = (next + 1) % COMMANDS.length;
+        return CommandParser.parse(command);
+    }
+}
@@ -0,0 +1,58 @@
+package baymax.storage;
+
+import baymax.Fixtures;
+import baymax.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading and saving the whole task file.
+ * Runs in the working directory set by the jmh Gradle task, so the real data folder is left alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StorageBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"TEXT", "BINARY"})
+    private StorageFormat format;
+
+    private Storage storage;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        storage = new Storage("./data/tasks.txt", false, format);
+        tasks = Fixtures.tasks(taskCount);
+        storage.saveTasks(tasks);
+    }
+
+    @Benchmark
+    public List<Task> loadTasks() throws IOException {
+        return storage.loadTasks();
+    }
+
+    @Benchmark
+    public void saveTasks() throws IOException {
+        storage.saveTasks(tasks);
+    }
+}
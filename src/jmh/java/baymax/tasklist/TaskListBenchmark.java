@@ -0,0 +1,88 @@
+package baymax.tasklist;
+
+import baymax.Fixtures;
+import baymax.exception.BaymaxException;
+import baymax.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures searching, listing, sorting and undoing on a large task list with a long undo history.
+ * The list has no storage, so only the in-memory work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskListBenchmark {
+
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    @Param({"100", "100000"})
+    private int historyLength;
+
+    private TaskList taskList;
+
+    @Setup
+    public void setUp() throws BaymaxException {
+        taskList = new TaskList(null, historyLength);
+        for (Task task : Fixtures.tasks(taskCount)) {
+            taskList.addTask(task);
+        }
+        // Fill the history with marks, so undo works against a full log
+        for (int i = 0; i < historyLength; i++) {
+            taskList.markTask(i % taskCount, i % 2 == 0);
+        }
+    }
+
+    @Benchmark
+    public String findTask() {
+        return taskList.findTask("report");
+    }
+
+    @Benchmark
+    public String findTaskShortKeyword() {
+        return taskList.findTask("mu");
+    }
+
+    @Benchmark
+    public String listTasks() {
+        return taskList.listTasks();
+    }
+
+    @Benchmark
+    public String listPage() throws BaymaxException {
+        return taskList.listTasks(taskCount / 2, 20);
+    }
+
+    @Benchmark
+    public TaskView sortByDate() {
+        return taskList.sortTasks(SortKey.DATE);
+    }
+
+    @Benchmark
+    public TaskView filterNotDone() {
+        return taskList.filterTasks(new TaskFilter(null, false, null, null));
+    }
+
+    @Benchmark
+    public String undoAndRedo() {
+        // Redo straight away, so the history stays the same length between invocations
+        taskList.undo();
+        return taskList.redo();
+    }
+}
@@ -1,9 +1,19 @@
 package baymax;
 
 import baymax.exception.BaymaxException;
+import baymax.metrics.Metrics;
 import baymax.parser.Parser;
+import baymax.server.BaymaxServer;
+import baymax.storage.Durability;
 import baymax.storage.Storage;
+import baymax.storage.StorageFormat;
 import baymax.tasklist.TaskList;
+import baymax.tasklist.TaskListRegistry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * The main entry point for the Baymax application.
@@ -11,19 +21,75 @@ import baymax.tasklist.TaskList;
  */
 public class Baymax {
 
-    private Storage storage;
-    private TaskList taskList;
+    private static final int DEFAULT_MAX_LISTS = 8;
+    private static final int DEFAULT_PORT = 8080;
+
+    private TaskListRegistry registry;
     private Parser parser;
+    private final String listName;
 
     /**
      * Constructs a Baymax instance and initializes its components.
+     * Changes are journaled instead of rewriting the whole file when the
+     * {@code baymax.journal} system property is set to true, and tasks are saved
+     * in the binary format when {@code baymax.format} is set to {@code binary}.
+     * The number of changes that can be undone and redone is set by {@code baymax.history},
+     * saves are written in the background when {@code baymax.writeDelay} is set to a
+     * delay in milliseconds, and {@code baymax.durability} sets how often writes are
+     * forced onto the disk. Metrics are also published over JMX when {@code baymax.jmx} is set to true.
+     * Other lists are saved next to the given file, and at most {@code baymax.maxLists} of them
+     * are kept in memory at once.
      *
      * @param filepath The file path to load and save tasks.
      */
     public Baymax(String filepath) {
-        this.storage = new Storage(filepath);
-        this.taskList = new TaskList(storage);
-        this.parser = new Parser(taskList);
+        Path path = Path.of(filepath);
+        String fileName = path.getFileName().toString();
+        this.listName = fileName.endsWith(".txt") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        this.registry = new TaskListRegistry(Integer.getInteger("baymax.maxLists", DEFAULT_MAX_LISTS),
+                name -> createTaskList(name.equals(this.listName) ? path : path.resolveSibling(name + ".txt")));
+        this.parser = new Parser(registry, listName);
+        if (Boolean.getBoolean("baymax.jmx")) {
+            Metrics.registerMBean();
+        }
+    }
+
+    /**
+     * Loads the task list saved in the given file, using the storage options set by system properties.
+     *
+     * @param path The file the tasks are saved in.
+     * @return The loaded task list.
+     */
+    private static TaskList createTaskList(Path path) {
+        Storage storage = new Storage(path.toString(), Boolean.getBoolean("baymax.journal"), getStorageFormat(),
+                Long.getLong("baymax.writeDelay", 0), getDurability());
+        return new TaskList(storage, Integer.getInteger("baymax.history", TaskList.DEFAULT_HISTORY_LIMIT),
+                Boolean.getBoolean("baymax.compact"));
+    }
+
+    /**
+     * Reads the task file format from the {@code baymax.format} system property.
+     *
+     * @return The configured format, or the text format if none is set.
+     */
+    private static StorageFormat getStorageFormat() {
+        String format = System.getProperty("baymax.format", "text");
+        return format.equalsIgnoreCase("binary") ? StorageFormat.BINARY : StorageFormat.TEXT;
+    }
+
+    /**
+     * Reads the durability policy from the {@code baymax.durability} system property.
+     *
+     * @return The configured policy, or leaving writes to the operating system if none is set.
+     */
+    private static Durability getDurability() {
+        String durability = System.getProperty("baymax.durability", "os");
+        try {
+            return Durability.valueOf(durability.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown durability policy: " + durability);
+            return Durability.OS;
+        }
     }
 
     /**
@@ -39,4 +105,124 @@ public class Baymax {
             return "Error: " + e.getMessage();
         }
     }
+
+    /**
+     * Handles a command for the named list, without changing the list that
+     * {@link #getResponse(String)} acts on. Used for clients that each choose their own list,
+     * so commands that stop Baymax or switch lists are refused.
+     *
+     * @param input The user command.
+     * @param listName The name of the list to act on, or null for the list Baymax started with.
+     * @return Baymax's response.
+     */
+    public String getResponse(String input, String listName) {
+        String name = listName == null ? this.listName : listName;
+        if (!Parser.isValidListName(name)) {
+            return "Error: List names can only use letters, digits, - and _";
+        }
+        Parser requestParser = new Parser(registry, name, true);
+        try {
+            return requestParser.processCommand(input);
+        } catch (BaymaxException e) {
+            return "Error: " + e.getMessage();
+        } finally {
+            requestParser.close();
+        }
+    }
+
+    /**
+     * Runs every command in a script, one per line, and prints each response.
+     * The commands run as a single transaction, so the tasks are saved once at the
+     * end and a single undo reverts the whole script. The script stops at "bye".
+     *
+     * @param script The path of the script to run.
+     * @return The number of commands run.
+     * @throws IOException If the script cannot be read.
+     */
+    public int runBatch(Path script) throws IOException {
+        int count = 0;
+        TaskList taskList = parser.getTaskList();
+        taskList.beginTransaction();
+        try (BufferedReader reader = Files.newBufferedReader(script)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String input = line.trim();
+                if (input.isEmpty()) {
+                    continue;
+                }
+                if (input.equals("bye")) {
+                    break;
+                }
+                System.out.println(getResponse(input));
+                count++;
+            }
+        } finally {
+            taskList.commitTransaction();
+        }
+        return count;
+    }
+
+    /**
+     * Waits until every change to the task lists has been saved.
+     */
+    public void flush() {
+        registry.flush();
+    }
+
+    /**
+     * Runs Baymax without the GUI.
+     * Usage: {@code Baymax --batch [file]} runs the commands in the file as a batch, and
+     * {@code Baymax --server [port]} answers commands over HTTP on the local machine.
+     *
+     * @param args The command line arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            runBatchFile(Path.of(args[1]));
+        } else if (args.length >= 1 && args[0].equals("--server")) {
+            runServer(args.length >= 2 ? args[1] : String.valueOf(DEFAULT_PORT));
+        } else {
+            System.out.println("Usage: Baymax --batch [file] or Baymax --server [port]");
+        }
+    }
+
+    /**
+     * Runs the commands in a file as a batch and saves the result.
+     */
+    private static void runBatchFile(Path script) {
+        try {
+            Baymax baymax = new Baymax("./data/tasks.txt");
+            int count = baymax.runBatch(script);
+            baymax.flush();
+            System.out.println("Ran " + count + " commands.");
+        } catch (IOException e) {
+            System.out.println("Error reading commands: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the HTTP server, which keeps running until the process is stopped.
+     * The number of requests handled at once is set by {@code baymax.server.threads}.
+     */
+    private static void runServer(String port) {
+        // Replies are written in two small packets, which Nagle's algorithm would hold back for
+        // the client's delayed acknowledgement, adding about 40ms to every request.
+        // This is set before the server classes are loaded, since they only read it once.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            Baymax baymax = new Baymax("./data/tasks.txt");
+            int threads = Integer.getInteger("baymax.server.threads", Runtime.getRuntime().availableProcessors());
+            BaymaxServer server = new BaymaxServer(baymax, Integer.parseInt(port), threads);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            server.start();
+            System.out.println("Baymax is listening on http://localhost:" + server.getPort()
+                    + BaymaxServer.COMMAND_PATH);
+        } catch (NumberFormatException e) {
+            System.out.println("That port number is not valid: " + port);
+        } catch (IOException e) {
+            System.out.println("Error starting server: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package baymax.gui;
+
+/**
+ * Represents a single message shown in the chat window.
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isUser;
+    private final boolean isError;
+
+    /**
+     * Constructs a ChatMessage.
+     *
+     * @param text The message text.
+     * @param isUser True if the message is from the user; false for Baymax.
+     * @param isError True if the message is an error from Baymax.
+     */
+    public ChatMessage(String text, boolean isUser, boolean isError) {
+        assert text != null : "Message text cannot be null";
+        assert !(isUser && isError) : "Only Baymax messages can be errors";
+        this.text = text;
+        this.isUser = isUser;
+        this.isError = isError;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isUser() {
+        return isUser;
+    }
+
+    public boolean isError() {
+        return isError;
+    }
+}
@@ -1,11 +1,7 @@
 package baymax.gui;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -14,103 +10,78 @@ import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import java.io.IOException;
 
 /**
  * Represents a dialog box for displaying messages.
+ * A dialog box can be reused to show a different message.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final double PICTURE_SIZE = 99.0;
+
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
+
+    /**
+     * Constructs an empty DialogBox.
+     * The nodes are built in code rather than loaded from FXML, so that creating
+     * a dialog box does not parse a layout file.
+     */
+    public DialogBox() {
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+        getChildren().addAll(dialog, displayPicture);
+    }
 
     /**
-     * Constructs a DialogBox.
+     * Shows a message in the dialog box, replacing the previous one.
      *
-     * @param text The message text.
+     * @param message The message to show.
      * @param img The image associated with the message.
-     * @param isUser True if the message is from the user; false for Baymax.
      */
-    private DialogBox(String text, Image img, boolean isUser) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        dialog.setText(text);
+    public void setMessage(ChatMessage message, Image img) {
+        dialog.setText(message.getText());
         displayPicture.setImage(img);
-        styleMessage(isUser);
-        // Flip Baymax messages so that the image appears on the left
-        if (!isUser) {
-            flip();
+        styleMessage(message.isUser());
+        if (message.isError()) {
+            styleError();
         }
     }
 
     /**
      * Adjusts the appearance of the dialog box based on whether it's from the user.
+     * Baymax messages are flipped so that the image appears on the left.
      *
      * @param isUser True if the message is from the user, false otherwise.
      */
     private void styleMessage(boolean isUser) {
+        dialog.setTextFill(Color.BLACK);
+        dialog.setFont(Font.getDefault());
         if (isUser) {
             dialog.setStyle("-fx-background-color: lightblue; -fx-padding: 10px; -fx-background-radius: 10;");
+            getChildren().setAll(dialog, displayPicture);
             this.setAlignment(Pos.CENTER_RIGHT);
         } else {
             dialog.setStyle("-fx-background-color: lightgray; -fx-padding: 10px; -fx-background-radius: 10;");
-            this.setAlignment(Pos.CENTER_LEFT);
+            getChildren().setAll(displayPicture, dialog);
+            this.setAlignment(Pos.TOP_LEFT);
         }
-        dialog.setMinHeight(Region.USE_PREF_SIZE);
-    }
-
-    /**
-     * Flips the dialog box so that the image is on the left and text on the right.
-     */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        FXCollections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-    }
-
-    /**
-     * Creates a dialog box for user input.
-     *
-     * @param text The user input.
-     * @param img The user's image.
-     * @return A dialog box for user messages.
-     */
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img, true);
     }
 
     /**
-     * Creates a dialog box for Baymax's normal response.
-     *
-     * @param text The message from Baymax.
-     * @param img The Baymax image.
-     * @return A dialog box for Baymax messages.
-     */
-    public static DialogBox getBaymaxDialog(String text, Image img) {
-        return new DialogBox(text, img, false);
-    }
-
-    /**
-     * Creates a dialog box for error messages.
-     *
-     * @param text The error message.
-     * @param img The Baymax image.
-     * @return A dialog box styled for error messages.
+     * Overrides the style of a Baymax message for errors.
      */
-    public static DialogBox getErrorDialog(String text, Image img) {
-        DialogBox db = new DialogBox(text, img, false);
-        // Override style for errors
-        db.dialog.setTextFill(Color.RED);
-        db.dialog.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        db.dialog.setStyle("-fx-background-color: #ffcccc; -fx-padding: 10px; -fx-background-radius: 10;");
-        return db;
+    private void styleError() {
+        dialog.setTextFill(Color.RED);
+        dialog.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        dialog.setStyle("-fx-background-color: #ffcccc; -fx-padding: 10px; -fx-background-radius: 10;");
     }
 }
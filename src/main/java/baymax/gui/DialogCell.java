@@ -0,0 +1,44 @@
+package baymax.gui;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Displays a chat message in the chat window's list.
+ * Only the visible cells exist, and each cell reuses a single dialog box for whichever message it shows.
+ */
+public class DialogCell extends ListCell<ChatMessage> {
+    // Leaves room for the list's scroll bar so that messages wrap instead of scrolling sideways
+    private static final double SCROLL_BAR_WIDTH = 20.0;
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image baymaxImage;
+
+    /**
+     * Constructs a DialogCell.
+     *
+     * @param listView The list the cell belongs to.
+     * @param userImage The user's image.
+     * @param baymaxImage The Baymax image.
+     */
+    public DialogCell(ListView<ChatMessage> listView, Image userImage, Image baymaxImage) {
+        this.userImage = userImage;
+        this.baymaxImage = baymaxImage;
+        setPrefWidth(0);
+        setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        dialogBox.setMessage(message, message.isUser() ? userImage : baymaxImage);
+        setGraphic(dialogBox);
+    }
+}
@@ -1,12 +1,17 @@
 package baymax.gui;
 
+import baymax.Baymax;
 import javafx.application.Application;
 
 /**
- * Launches the JavaFX application.
+ * Launches the JavaFX application, or runs without it when given {@code --batch} or {@code --server}.
  */
 public class Launcher {
     public static void main(String[] args) {
+        if (args.length > 0 && (args[0].equals("--batch") || args[0].equals("--server"))) {
+            Baymax.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
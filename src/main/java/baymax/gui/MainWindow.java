@@ -1,37 +1,52 @@
 package baymax.gui;
 
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Button;
 import javafx.scene.layout.VBox;
 import javafx.scene.image.Image;
 import baymax.Baymax;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * The main window for the chatbot's GUI.
+ * Messages are shown in a list that only creates nodes for the visible messages.
+ * Commands run one at a time on a background thread, so the window stays responsive while tasks are saved.
  */
 public class MainWindow extends VBox {
+    // Maximum number of messages kept in the window, or 0 to keep all of them
+    private static final int MAX_MESSAGES = Integer.getInteger("baymax.gui.maxMessages", 0);
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Baymax baymax;
+    // A single thread runs commands in the order they were entered
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "baymax-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image baymaxImage = new Image(this.getClass().getResourceAsStream("/images/DaBaymax.png"));
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setCellFactory(list -> new DialogCell(list, userImage, baymaxImage));
+        dialogList.setFocusTraversable(false);
         // Show welcome message when GUI loads
         String welcomeMessage = "Hey there :) I'm Baymax. How can I assist you today?";
-        dialogContainer.getChildren().add(DialogBox.getBaymaxDialog(welcomeMessage, baymaxImage));
+        addMessages(new ChatMessage(welcomeMessage, false, false));
     }
 
     public void setBaymax(Baymax b) {
@@ -40,20 +55,39 @@ public class MainWindow extends VBox {
 
     /**
      * Handles user input from the text field.
+     * The input is shown straight away, and the response is added once the command has run.
+     * An unexpected failure while running the command is shown as an error instead of being lost.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = baymax.getResponse(input);
-        DialogBox userDialog = DialogBox.getUserDialog(input, userImage);
-
-        if (response.startsWith("Error:")) { // Show error messages differently
-            DialogBox errorDialog = DialogBox.getErrorDialog(response, baymaxImage);
-            dialogContainer.getChildren().addAll(userDialog, errorDialog);
-        } else {
-            DialogBox baymaxDialog = DialogBox.getBaymaxDialog(response, baymaxImage);
-            dialogContainer.getChildren().addAll(userDialog, baymaxDialog);
-        }
         userInput.clear();
+        addMessages(new ChatMessage(input, true, false));
+        commandExecutor.execute(() -> {
+            String response;
+            try {
+                response = baymax.getResponse(input);
+            } catch (RuntimeException e) {
+                response = "Error: Something went wrong while running that command: " + e;
+            }
+            boolean isError = response.startsWith("Error:"); // Show error messages differently
+            String message = response;
+            Platform.runLater(() -> addMessages(new ChatMessage(message, false, isError)));
+        });
+    }
+
+    /**
+     * Adds messages to the end of the chat, dropping the oldest ones beyond the message limit,
+     * and scrolls to the newest message.
+     *
+     * @param messages The messages to add.
+     */
+    private void addMessages(ChatMessage... messages) {
+        ObservableList<ChatMessage> items = dialogList.getItems();
+        items.addAll(messages);
+        if (MAX_MESSAGES > 0 && items.size() > MAX_MESSAGES) {
+            items.remove(0, items.size() - MAX_MESSAGES);
+        }
+        dialogList.scrollTo(items.size() - 1);
     }
 }
@@ -0,0 +1,141 @@
+package baymax.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Collects counters, timers and size histograms for the whole application.
+ * Callers should look up a metric once and keep it, so recording a value does not
+ * need a map lookup.
+ */
+public class Metrics implements MetricsMXBean {
+
+    private static final ConcurrentMap<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> TIMERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> SIZES = new ConcurrentHashMap<>();
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Returns the counter with the given name, creating it if needed.
+     *
+     * @param name The name of the counter.
+     * @return The counter.
+     */
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Returns the histogram of durations in nanoseconds with the given name, creating it if needed.
+     *
+     * @param name The name of the timer.
+     * @return The timer.
+     */
+    public static Histogram timer(String name) {
+        return TIMERS.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Returns the histogram of sizes in bytes with the given name, creating it if needed.
+     *
+     * @param name The name of the histogram.
+     * @return The histogram.
+     */
+    public static Histogram size(String name) {
+        return SIZES.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Records the time since an operation started.
+     *
+     * @param timer The timer to record in.
+     * @param startNanos The value of {@link System#nanoTime()} when the operation started.
+     */
+    public static void stop(Histogram timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Summarises every metric that has recorded something, sorted by name.
+     *
+     * @return The summary.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Here are my stats since I started:");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(TIMERS).entrySet()) {
+            Histogram timer = entry.getValue();
+            if (timer.getCount() > 0) {
+                report.append(String.format("%n%s: %d times, p50 %.3fms, p99 %.3fms, max %.3fms", entry.getKey(),
+                        timer.getCount(), timer.getPercentile(0.5) / NANOS_PER_MILLI,
+                        timer.getPercentile(0.99) / NANOS_PER_MILLI, timer.getMax() / NANOS_PER_MILLI));
+            }
+        }
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(SIZES).entrySet()) {
+            Histogram size = entry.getValue();
+            if (size.getCount() > 0) {
+                report.append(String.format("%n%s: %d times, p50 %d bytes, p99 %d bytes, total %d bytes",
+                        entry.getKey(), size.getCount(), size.getPercentile(0.5), size.getPercentile(0.99),
+                        size.getSum()));
+            }
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            long value = entry.getValue().sum();
+            if (value > 0) {
+                report.append(String.format("%n%s: %d", entry.getKey(), value));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Makes the metrics available over JMX as {@code baymax:type=Metrics}.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(new Metrics(), new ObjectName("baymax:type=Metrics"));
+        } catch (JMException e) {
+            System.out.println("Error registering metrics: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> counters.put(name, counter.sum()));
+        return counters;
+    }
+
+    @Override
+    public Map<String, Long> getMedianMicros() {
+        Map<String, Long> medians = new TreeMap<>();
+        TIMERS.forEach((name, timer) -> medians.put(name, timer.getPercentile(0.5) / 1000));
+        return medians;
+    }
+
+    @Override
+    public Map<String, Long> getP99Micros() {
+        Map<String, Long> percentiles = new TreeMap<>();
+        TIMERS.forEach((name, timer) -> percentiles.put(name, timer.getPercentile(0.99) / 1000));
+        return percentiles;
+    }
+
+    @Override
+    public String getReport() {
+        return report();
+    }
+
+    @Override
+    public void reset() {
+        COUNTERS.values().forEach(LongAdder::reset);
+        TIMERS.values().forEach(Histogram::reset);
+        SIZES.values().forEach(Histogram::reset);
+    }
+}
@@ -0,0 +1,34 @@
+package baymax.metrics;
+
+import java.util.Map;
+
+/**
+ * Exposes the collected metrics over JMX, e.g. to JConsole.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Returns the value of every counter.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns the median of every timer, in microseconds.
+     */
+    Map<String, Long> getMedianMicros();
+
+    /**
+     * Returns the 99th percentile of every timer, in microseconds.
+     */
+    Map<String, Long> getP99Micros();
+
+    /**
+     * Returns the same summary as the stats command.
+     */
+    String getReport();
+
+    /**
+     * Forgets every recorded value.
+     */
+    void reset();
+}
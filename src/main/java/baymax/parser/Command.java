@@ -0,0 +1,84 @@
+package baymax.parser;
+
+import baymax.task.Task;
+import baymax.tasklist.TaskSelector;
+
+/**
+ * Represents a single parsed user command.
+ * Commands that target a task carry its index or its id, commands that target several tasks carry
+ * a selector, and commands that add a task carry the new task.
+ */
+public class Command {
+    private final CommandType type;
+    private final String argument;
+    private final int index;
+    private final Task task;
+    private final TaskSelector selector;
+    private final long taskId;
+
+    /**
+     * Constructs a Command.
+     *
+     * @param type The kind of command.
+     * @param argument The text after the command word, or null if there is none.
+     * @param index The zero-based index of the targeted task, or -1 if there is none.
+     * @param task The task to add, or null if the command does not add a task.
+     * @param selector The targeted tasks when there are several, or null otherwise.
+     */
+    public Command(CommandType type, String argument, int index, Task task, TaskSelector selector) {
+        this(type, argument, index, task, selector, -1);
+    }
+
+    /**
+     * Constructs a Command that targets a task by its id.
+     *
+     * @param type The kind of command.
+     * @param argument The text after the command word.
+     * @param taskId The id of the targeted task.
+     */
+    public Command(CommandType type, String argument, long taskId) {
+        this(type, argument, -1, null, null, taskId);
+    }
+
+    private Command(CommandType type, String argument, int index, Task task, TaskSelector selector, long taskId) {
+        assert type != null : "Command type cannot be null";
+        this.type = type;
+        this.argument = argument;
+        this.index = index;
+        this.task = task;
+        this.selector = selector;
+        this.taskId = taskId;
+    }
+
+    public CommandType getType() {
+        return type;
+    }
+
+    public String getArgument() {
+        return argument;
+    }
+
+    public boolean hasArgument() {
+        return argument != null;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public TaskSelector getSelector() {
+        return selector;
+    }
+
+    public boolean hasTaskId() {
+        return taskId > 0;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+}
@@ -0,0 +1,192 @@
+package baymax.parser;
+
+import baymax.exception.BaymaxException;
+import baymax.task.Deadline;
+import baymax.task.Event;
+import baymax.task.Todo;
+import baymax.tasklist.TaskSelector;
+
+import java.util.Arrays;
+
+/**
+ * Turns a line of user input into a {@link Command}.
+ * The input is read in a single pass without regular expressions, since batch files
+ * can contain many thousands of commands.
+ */
+public class CommandParser {
+
+    /**
+     * Parses a line of user input.
+     *
+     * @param input The command given by the user.
+     * @return The parsed command.
+     * @throws BaymaxException If the command is unknown or its arguments are invalid.
+     */
+    public static Command parse(String input) throws BaymaxException {
+        assert input != null : "Input command should not be null";
+
+        int space = input.indexOf(' ');
+        CommandType type = parseType(input);
+        String argument = space < 0 ? null : input.substring(space + 1);
+
+        switch (type) {
+        case MARK:
+        case UNMARK:
+        case DELETE:
+            if (argument != null && argument.trim().startsWith("#")) {
+                return new Command(type, argument, parseTaskId(argument.trim()));
+            }
+            if (argument != null && !isNumber(argument.trim())) {
+                return new Command(type, argument, -1, null, parseSelector(argument));
+            }
+            return new Command(type, argument, parseIndex(argument == null ? null : argument.trim()), null, null);
+        case TODO:
+            return new Command(type, argument, -1, Todo.parse(argument == null ? "" : argument), null);
+        case DEADLINE:
+            return new Command(type, argument, -1, Deadline.parse(argument == null ? "" : argument), null);
+        case EVENT:
+            return new Command(type, argument, -1, Event.parse(argument == null ? "" : argument), null);
+        case FIND:
+            if (argument == null) {
+                throw new BaymaxException("Please give me a keyword to search.");
+            }
+            return new Command(type, argument, -1, null, null);
+        default:
+            return new Command(type, argument, -1, null, null);
+        }
+    }
+
+    /**
+     * Finds the command named by the first word of the input, without reading its arguments.
+     *
+     * @param input The command given by the user.
+     * @return The kind of command.
+     * @throws BaymaxException If no command has that name.
+     */
+    public static CommandType parseType(String input) throws BaymaxException {
+        int space = input.indexOf(' ');
+        int wordEnd = space < 0 ? input.length() : space;
+        for (CommandType type : CommandType.values()) {
+            String word = type.getWord();
+            if (word.length() == wordEnd && input.startsWith(word)) {
+                return type;
+            }
+        }
+        throw new BaymaxException("I don't understand what you're saying!");
+    }
+
+    /**
+     * Parses a one-based task number into a zero-based index.
+     *
+     * @param argument The text after the command word, or null if there is none.
+     * @return The parsed index.
+     * @throws BaymaxException If the index is missing or invalid.
+     */
+    private static int parseIndex(String argument) throws BaymaxException {
+        if (argument == null) {
+            throw new BaymaxException("Command requires an index.");
+        }
+        int length = argument.length();
+        if (length == 0 || length > 9) {
+            throw new BaymaxException("That task number doesn't exist!");
+        }
+        int number = 0;
+        for (int i = 0; i < length; i++) {
+            char c = argument.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new BaymaxException("That task number doesn't exist!");
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number - 1;
+    }
+
+    /**
+     * Parses a task id written as "#12".
+     *
+     * @param argument The trimmed text after the command word, starting with '#'.
+     * @return The parsed id.
+     * @throws BaymaxException If the id is not a positive number.
+     */
+    private static long parseTaskId(String argument) throws BaymaxException {
+        String digits = argument.substring(1);
+        if (!isNumber(digits) || digits.length() > 18) {
+            throw new BaymaxException("Please give me a task id like #12.");
+        }
+        long id = Long.parseLong(digits);
+        if (id == 0) {
+            throw new BaymaxException("Please give me a task id like #12.");
+        }
+        return id;
+    }
+
+    /**
+     * Parses a selector for several tasks: "done", or task numbers and ranges
+     * separated by commas, e.g. "1,4,7" or "3-900".
+     *
+     * @param argument The text after the command word.
+     * @return The parsed selector.
+     * @throws BaymaxException If the selector is invalid.
+     */
+    private static TaskSelector parseSelector(String argument) throws BaymaxException {
+        String text = argument.trim();
+        if (text.equals("done")) {
+            return TaskSelector.done();
+        }
+
+        String format = "Please give me a task number, a list like 1,4,7, a range like 3-9, or done.";
+        int[] ranges = new int[8];
+        int count = 0;
+        int position = 0;
+        while (position <= text.length()) {
+            int end = text.indexOf(',', position);
+            if (end < 0) {
+                end = text.length();
+            }
+            int dash = text.indexOf('-', position);
+            int first;
+            int last;
+            if (dash < 0 || dash > end) {
+                first = parseNumber(text, position, end, format);
+                last = first;
+            } else {
+                first = parseNumber(text, position, dash, format);
+                last = parseNumber(text, dash + 1, end, format);
+            }
+            if (first < 1 || last < first) {
+                throw new BaymaxException(format);
+            }
+            if (count == ranges.length) {
+                ranges = Arrays.copyOf(ranges, count * 2);
+            }
+            ranges[count++] = first - 1;
+            ranges[count++] = last;
+            position = end + 1;
+        }
+        return TaskSelector.ofRanges(Arrays.copyOf(ranges, count));
+    }
+
+    /**
+     * Checks whether the text is a whole number without a sign.
+     */
+    private static boolean isNumber(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return !text.isEmpty();
+    }
+
+    /**
+     * Parses the digits between two indexes of the text, ignoring surrounding spaces.
+     */
+    private static int parseNumber(String text, int start, int end, String message) throws BaymaxException {
+        String digits = text.substring(start, end).trim();
+        if (!isNumber(digits) || digits.length() > 9) {
+            throw new BaymaxException(message);
+        }
+        return Integer.parseInt(digits);
+    }
+}
@@ -0,0 +1,21 @@
+package baymax.parser;
+
+/**
+ * Represents the commands that Baymax understands, along with the word that starts each one.
+ */
+public enum CommandType {
+    BYE("bye"), LIST("list"), MARK("mark"), UNMARK("unmark"), DELETE("delete"),
+    TODO("todo"), DEADLINE("deadline"), EVENT("event"), FIND("find"), UNDO("undo"), REDO("redo"),
+    DUE("due"), BETWEEN("between"), UPCOMING("upcoming"), STATS("stats"), SWITCH("switch"),
+    SORT("sort"), FILTER("filter");
+
+    private final String word;
+
+    CommandType(String word) {
+        this.word = word;
+    }
+
+    public String getWord() {
+        return word;
+    }
+}
@@ -1,14 +1,38 @@
 package baymax.parser;
 
 import baymax.exception.BaymaxException;
+import baymax.metrics.Histogram;
+import baymax.metrics.Metrics;
+import baymax.task.TaskType;
+import baymax.tasklist.SortKey;
+import baymax.tasklist.TaskFilter;
 import baymax.tasklist.TaskList;
+import baymax.tasklist.TaskListRegistry;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Parses user input and executes corresponding commands.
  */
 public class Parser {
 
-    private TaskList taskList;
+    private volatile TaskList taskList;
+    // The lists that can be switched to, or null if only one list is available
+    private TaskListRegistry registry;
+    // The name of the list acquired from the registry, or null if there is no registry
+    private volatile String listName;
+    // Whether this parser serves one of many clients, which must not stop Baymax or switch lists
+    private final boolean isShared;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_LIST_NAME_LENGTH = 64;
+    private static final Map<CommandType, Histogram> COMMAND_TIMERS = createCommandTimers();
+    private static final LongAdder FAILED_COMMANDS = Metrics.counter("command.failed");
 
     /**
      * Constructs a Parser instance.
@@ -17,6 +41,65 @@ public class Parser {
      */
     public Parser(TaskList taskList) {
         this.taskList = taskList;
+        this.isShared = false;
+    }
+
+    /**
+     * Constructs a Parser that can switch between the lists in a registry.
+     *
+     * @param registry The lists that can be switched to.
+     * @param listName The name of the list to start with.
+     */
+    public Parser(TaskListRegistry registry, String listName) {
+        this(registry, listName, false);
+    }
+
+    /**
+     * Constructs a Parser for one of the lists in a registry.
+     * The list is held until the parser is closed or switches to another list.
+     * A shared parser answers one of many clients using the same Baymax, so it refuses
+     * to stop Baymax or to switch lists.
+     *
+     * @param registry The lists that can be switched to.
+     * @param listName The name of the list to start with.
+     * @param isShared Whether other clients are using the same Baymax.
+     */
+    public Parser(TaskListRegistry registry, String listName, boolean isShared) {
+        this.registry = registry;
+        this.taskList = registry.acquire(listName);
+        this.listName = listName;
+        this.isShared = isShared;
+    }
+
+    /**
+     * Gives the current list back to the registry, so that it can be unloaded once no one else uses it.
+     * The parser should not be used afterwards.
+     */
+    public void close() {
+        if (registry != null && listName != null) {
+            registry.release(listName);
+            listName = null;
+        }
+    }
+
+    /**
+     * Returns the task list that commands currently act on.
+     *
+     * @return The current task list.
+     */
+    public TaskList getTaskList() {
+        return taskList;
+    }
+
+    /**
+     * Creates a timer for each kind of command, named after the command word.
+     */
+    private static Map<CommandType, Histogram> createCommandTimers() {
+        Map<CommandType, Histogram> timers = new EnumMap<>(CommandType.class);
+        for (CommandType type : CommandType.values()) {
+            timers.put(type, Metrics.timer("command." + type.getWord()));
+        }
+        return timers;
     }
 
     /**
@@ -29,64 +112,411 @@ public class Parser {
         assert input != null : "Input command should not be null";
         assert !input.trim().isEmpty() : "Input command should not be empty";
 
-        String[] words = input.split(" ", 2);
-        String command = words[0];
+        long start = System.nanoTime();
+        Command command = null;
+        try {
+            command = CommandParser.parse(input);
+            return execute(command);
+        } catch (BaymaxException e) {
+            FAILED_COMMANDS.increment();
+            throw e;
+        } finally {
+            if (command != null) {
+                Metrics.stop(COMMAND_TIMERS.get(command.getType()), start);
+            }
+        }
+    }
+
+    /**
+     * Executes a parsed command.
+     *
+     * @param command The command to execute.
+     * @return The response to show the user.
+     * @throws BaymaxException If the command cannot be carried out.
+     */
+    private String execute(Command command) throws BaymaxException {
+        String argument = command.getArgument();
 
-        switch (command) {
-        case "bye":
+        switch (command.getType()) {
+        case BYE:
+            if (isShared) {
+                throw new BaymaxException("Baymax keeps running for other users, so it cannot be stopped from here.");
+            }
             scheduleExit();
             return "Byeee! Take care :D";
-        case "list":
-            return taskList.listTasks();
-        case "mark":
-            return taskList.markTask(parseIndex(words), true);
-        case "unmark":
-            return taskList.markTask(parseIndex(words), false);
-        case "delete":
-            return taskList.deleteTask(parseIndex(words));
-        case "todo":
-            return taskList.addTodo(input);
-        case "deadline":
-            return taskList.addDeadline(input);
-        case "event":
-            return taskList.addEvent(input);
-        case "find":
-            if (words.length < 2) {
-                throw new BaymaxException("Please give me a keyword to search.");
-            }
-            return taskList.findTask(words[1]);
-        case "undo":
+        case LIST:
+            // "list " with only spaces after it shows the whole list, like "list"
+            if (!command.hasArgument() || argument.isBlank()) {
+                return taskList.listTasks();
+            }
+            return listPage(argument.trim());
+        case MARK:
+            if (command.getSelector() != null) {
+                return taskList.markTasks(command.getSelector(), true);
+            }
+            if (command.hasTaskId()) {
+                return taskList.markTaskById(command.getTaskId(), true);
+            }
+            return taskList.markTask(command.getIndex(), true);
+        case UNMARK:
+            if (command.getSelector() != null) {
+                return taskList.markTasks(command.getSelector(), false);
+            }
+            if (command.hasTaskId()) {
+                return taskList.markTaskById(command.getTaskId(), false);
+            }
+            return taskList.markTask(command.getIndex(), false);
+        case DELETE:
+            if (command.getSelector() != null) {
+                return taskList.deleteTasks(command.getSelector());
+            }
+            if (command.hasTaskId()) {
+                return taskList.deleteTaskById(command.getTaskId());
+            }
+            return taskList.deleteTask(command.getIndex());
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+            return taskList.addTask(command.getTask());
+        case FIND:
+            return taskList.findTask(argument);
+        case UNDO:
             return taskList.undo();
+        case REDO:
+            return taskList.redo();
+        case DUE:
+            return findDue(argument);
+        case BETWEEN:
+            return findBetween(argument);
+        case UPCOMING:
+            return taskList.findUpcoming(parseCount(argument));
+        case STATS:
+            return Metrics.report();
+        case SWITCH:
+            if (isShared) {
+                throw new BaymaxException("Please choose a list for each command with ?list=[name] instead.");
+            }
+            return switchList(argument);
+        case SORT:
+            return sortTasks(argument);
+        case FILTER:
+            return filterTasks(argument);
         default:
             throw new BaymaxException("I don't understand what you're saying!");
         }
     }
 
     /**
-     * Parses an index from user input.
+     * Lists one page of tasks, given either as a page number or as "--limit N --offset M".
      *
-     * @param words The split user input containing the command and index.
-     * @return The parsed index.
-     * @throws BaymaxException If the index is missing or invalid.
+     * @param options The page number or paging options given by the user.
+     * @return The tasks on the page.
+     * @throws BaymaxException If the options are invalid.
      */
-    private int parseIndex(String[] words) throws BaymaxException {
-        assert words != null : "Words array should not be null";
+    private String listPage(String options) throws BaymaxException {
+        String format = "Please use this format: list [page] or list --limit [N] --offset [M]";
+        int[] page = parsePage(splitWords(options), format);
+        return taskList.listTasks(page[0], page[1]);
+    }
+
+    /**
+     * Reads which page of tasks to show, given either as a page number or as "--limit N --offset M".
+     * The first page is shown if no options are given.
+     *
+     * @param tokens The paging options given by the user, split into words.
+     * @param format The message to show if the options are invalid.
+     * @return The number of tasks to skip, followed by the maximum number of tasks to show.
+     * @throws BaymaxException If the options are invalid.
+     */
+    private int[] parsePage(List<String> tokens, String format) throws BaymaxException {
+        if (tokens.size() == 1) {
+            int page = parseNumber(tokens.get(0), 1, format);
+            return new int[] {(int) Math.min(Integer.MAX_VALUE, (long) (page - 1) * PAGE_SIZE), PAGE_SIZE};
+        }
 
-        if (words.length < 2) {
-            throw new BaymaxException("Command requires an index.");
+        int limit = PAGE_SIZE;
+        int offset = 0;
+        if (tokens.size() % 2 != 0) {
+            throw new BaymaxException(format);
+        }
+        for (int i = 0; i < tokens.size(); i += 2) {
+            switch (tokens.get(i)) {
+            case "--limit":
+                limit = parseNumber(tokens.get(i + 1), 1, format);
+                break;
+            case "--offset":
+                offset = parseNumber(tokens.get(i + 1), 0, format);
+                break;
+            default:
+                throw new BaymaxException(format);
+            }
         }
+        return new int[] {offset, limit};
+    }
+
+    /**
+     * Shows one page of the tasks sorted by date, type, completion status or description.
+     * The list itself keeps its order.
+     *
+     * @param argument The text after the command word, e.g. "by date 2".
+     * @return The tasks on the page.
+     * @throws BaymaxException If the sort key or paging options are invalid.
+     */
+    private String sortTasks(String argument) throws BaymaxException {
+        String format = "Please use this format: sort by date|type|done|description [page]";
+        List<String> tokens = argument == null ? List.of() : splitWords(argument);
+        if (tokens.size() < 2 || !tokens.get(0).equals("by")) {
+            throw new BaymaxException(format);
+        }
+        SortKey key = null;
+        for (SortKey sortKey : SortKey.values()) {
+            if (sortKey.getWord().equals(tokens.get(1))) {
+                key = sortKey;
+            }
+        }
+        if (key == null) {
+            throw new BaymaxException(format);
+        }
+        int[] page = parsePage(tokens.subList(2, tokens.size()), format);
+        if (taskList.isEmpty()) {
+            return "You have no tasks in your list!";
+        }
+        return taskList.sortTasks(key).listTasks(page[0], page[1]);
+    }
+
+    /**
+     * Shows one page of the tasks meeting every condition given, e.g. "type=D done=0 before=2025-04-01".
+     *
+     * @param argument The conditions, optionally followed by a page number or paging options.
+     * @return The matching tasks on the page.
+     * @throws BaymaxException If a condition or the paging options are invalid.
+     */
+    private String filterTasks(String argument) throws BaymaxException {
+        String usage = "filter [type=T|D|E] [done=0|1] [before=yyyy-mm-dd] [after=yyyy-mm-dd] [page]";
+        String format = "Please use this format: " + usage;
+        TaskType type = null;
+        Boolean isDone = null;
+        LocalDate before = null;
+        LocalDate after = null;
+        List<String> pageTokens = new ArrayList<>();
+        for (String token : argument == null ? List.<String>of() : splitWords(argument)) {
+            int equals = token.indexOf('=');
+            if (equals < 0) {
+                pageTokens.add(token);
+                continue;
+            }
+            String value = token.substring(equals + 1);
+            switch (token.substring(0, equals)) {
+            case "type":
+                type = toTaskType(value, format);
+                break;
+            case "done":
+                if (!value.equals("0") && !value.equals("1")) {
+                    throw new BaymaxException(format);
+                }
+                isDone = value.equals("1");
+                break;
+            case "before":
+                before = parseDate(value, usage);
+                break;
+            case "after":
+                after = parseDate(value, usage);
+                break;
+            default:
+                throw new BaymaxException(format);
+            }
+        }
+        if (type == null && isDone == null && before == null && after == null) {
+            throw new BaymaxException(format);
+        }
+        int[] page = parsePage(pageTokens, format);
+        return taskList.filterTasks(new TaskFilter(type, isDone, before, after)).listTasks(page[0], page[1]);
+    }
+
+    /**
+     * Finds the type of task named by the letter used in the task list, e.g. "D" for deadlines.
+     */
+    private TaskType toTaskType(String letter, String format) throws BaymaxException {
+        switch (letter.toUpperCase()) {
+        case "T":
+            return TaskType.TODO;
+        case "D":
+            return TaskType.DEADLINE;
+        case "E":
+            return TaskType.EVENT;
+        default:
+            throw new BaymaxException(format);
+        }
+    }
+
+    /**
+     * Splits text into the words separated by one or more spaces.
+     *
+     * @param text The text to split.
+     * @return The words, in order.
+     */
+    private List<String> splitWords(String text) {
+        List<String> words = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == ' ') {
+                if (i > start) {
+                    words.add(text.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Finds the tasks on the date given in user input.
+     *
+     * @param argument The text after the command word, or null if there is none.
+     * @return The tasks on that date.
+     * @throws BaymaxException If the date is missing or invalid.
+     */
+    private String findDue(String argument) throws BaymaxException {
+        String format = "due [yyyy-MM-dd]";
+        if (argument == null) {
+            throw new BaymaxException("Please use this format: " + format);
+        }
+        return taskList.findDue(parseDate(argument.trim(), format));
+    }
+
+    /**
+     * Finds the tasks between the two dates given in user input.
+     *
+     * @param argument The text after the command word, or null if there is none.
+     * @return The tasks between the dates.
+     * @throws BaymaxException If either date is missing or invalid.
+     */
+    private String findBetween(String argument) throws BaymaxException {
+        String format = "between [yyyy-MM-dd] [yyyy-MM-dd]";
+        if (argument == null) {
+            throw new BaymaxException("Please use this format: " + format);
+        }
+        String dates = argument.trim();
+        int space = dates.indexOf(' ');
+        if (space < 0) {
+            throw new BaymaxException("Please use this format: " + format);
+        }
+        return taskList.findBetween(parseDate(dates.substring(0, space), format),
+                parseDate(dates.substring(space + 1).trim(), format));
+    }
+
+    /**
+     * Makes the list with the given name the one that commands act on, loading it if needed.
+     *
+     * @param argument The text after the command word, or null if there is none.
+     * @return The confirmation message.
+     * @throws BaymaxException If the name is missing or invalid, or lists cannot be switched.
+     */
+    private String switchList(String argument) throws BaymaxException {
+        if (registry == null) {
+            throw new BaymaxException("There is only one list here!");
+        }
+        if (taskList.isInTransaction()) {
+            throw new BaymaxException("Lists cannot be switched while running commands from a file.");
+        }
+        String name = argument == null ? "" : argument.trim();
+        if (!isValidListName(name)) {
+            throw new BaymaxException("Please use this format: switch [name], using only letters, digits, - and _");
+        }
+        String previousName = listName;
+        taskList = registry.acquire(name);
+        listName = name;
+        if (previousName != null) {
+            registry.release(previousName);
+        }
+        return "Switched to the list " + name + ". It has " + taskList.size() + " tasks.";
+    }
+
+    /**
+     * Checks that a list name is short and only uses letters, digits, '-' and '_',
+     * so that it is always safe to use as a file name.
+     *
+     * @param name The list name to check.
+     * @return True if the name can be used.
+     */
+    public static boolean isValidListName(String name) {
+        if (name.isEmpty() || name.length() > MAX_LIST_NAME_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean isAllowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_';
+            if (!isAllowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a date in "yyyy-MM-dd" format.
+     *
+     * @param date The date given by the user.
+     * @param format The expected format of the command, shown if the date is invalid.
+     * @return The parsed date.
+     * @throws BaymaxException If the date is invalid.
+     */
+    private LocalDate parseDate(String date, String format) throws BaymaxException {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BaymaxException("Please use this format: " + format);
+        }
+    }
+
+    /**
+     * Parses the number of tasks to show from user input.
+     *
+     * @param argument The text after the command word, or null if there is none.
+     * @return The parsed count.
+     * @throws BaymaxException If the count is missing or not a positive number.
+     */
+    private int parseCount(String argument) throws BaymaxException {
+        String message = "Please tell me how many tasks to show.";
+        if (argument == null) {
+            throw new BaymaxException(message);
+        }
+        return parseNumber(argument.trim(), 1, message);
+    }
+
+    /**
+     * Parses a whole number that must be at least the given minimum.
+     *
+     * @param text The number given by the user.
+     * @param min The smallest number allowed.
+     * @param message The error message to show if the number is invalid.
+     * @return The parsed number.
+     * @throws BaymaxException If the text is not a number or is too small.
+     */
+    private int parseNumber(String text, int min, String message) throws BaymaxException {
         try {
-            return Integer.parseInt(words[1]) - 1;
+            int number = Integer.parseInt(text);
+            if (number < min) {
+                throw new BaymaxException(message);
+            }
+            return number;
         } catch (NumberFormatException e) {
-            throw new BaymaxException("That task number doesn't exist!");
+            throw new BaymaxException(message);
         }
     }
 
     /**
-     * Schedules the application to exit after 1 second.
+     * Schedules the application to exit after 1 second,
+     * once every change has been saved.
      */
     private void scheduleExit() {
         new Thread(() -> {
+            if (registry != null) {
+                registry.flush();
+            } else {
+                taskList.flush();
+            }
             try {
                 Thread.sleep(1500); // Wait for 1 second before exiting
             } catch (InterruptedException e) {
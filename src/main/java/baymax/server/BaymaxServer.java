@@ -0,0 +1,175 @@
+package baymax.server;
+
+import baymax.Baymax;
+import baymax.exception.BaymaxException;
+import baymax.metrics.Histogram;
+import baymax.metrics.Metrics;
+import baymax.parser.CommandParser;
+import baymax.parser.CommandType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves Baymax commands over HTTP on the local machine only.
+ * Each command is sent as the body of a POST request to {@code /command}, and the response
+ * body is Baymax's reply. Each request chooses its list with a {@code list} query parameter,
+ * e.g. {@code /command?list=work}, or acts on the list Baymax started with. Clients using the
+ * same list share its tasks and its undo history.
+ */
+public class BaymaxServer {
+
+    public static final String COMMAND_PATH = "/command";
+    private static final int MAX_COMMAND_BYTES = 64 * 1024;
+    private static final Histogram REQUEST_TIMER = Metrics.timer("server.request");
+
+    private final Baymax baymax;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a BaymaxServer. The server does not accept requests until it is started.
+     *
+     * @param baymax The Baymax instance that answers commands.
+     * @param port The port to listen on, or 0 to pick any free port.
+     * @param threads The number of requests handled at the same time.
+     * @throws IOException If the port cannot be opened.
+     */
+    public BaymaxServer(Baymax baymax, int port, int threads) throws IOException {
+        this.baymax = baymax;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "baymax-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(COMMAND_PATH, this::handle);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, waits briefly for those in progress and saves every change.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        baymax.flush();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Answers a single request.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, "Please send commands with POST.");
+                return;
+            }
+            String input = readCommand(exchange.getRequestBody());
+            CommandType type = input == null || input.isEmpty() ? null : readCommandType(input);
+            if (input == null) {
+                send(exchange, 413, "That command is too long!");
+            } else if (input.isEmpty()) {
+                send(exchange, 400, "Please send a command.");
+            } else if (type == CommandType.BYE) {
+                // Other clients are still using Baymax, so only the server owner can stop it
+                send(exchange, 400, "The server keeps running for other users. Stop it with Ctrl+C.");
+            } else if (type == CommandType.SWITCH) {
+                // Switching would change the list for every client, so each request names its own list
+                send(exchange, 400, "Please choose a list for each command with ?list=[name] instead.");
+            } else {
+                send(exchange, 200, baymax.getResponse(input, readListName(exchange.getRequestURI())));
+            }
+        } finally {
+            Metrics.stop(REQUEST_TIMER, start);
+        }
+    }
+
+    /**
+     * Reads the command from a request body.
+     *
+     * @return The trimmed command, or null if it is longer than the limit.
+     */
+    private static String readCommand(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(MAX_COMMAND_BYTES + 1);
+        if (bytes.length > MAX_COMMAND_BYTES) {
+            return null;
+        }
+        return new String(bytes, StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Reads the kind of command sent, so that commands affecting every client can be refused
+     * with a clear status. Baymax also refuses them itself for commands sent by clients.
+     *
+     * @return The kind of command, or null if it is unknown.
+     */
+    private static CommandType readCommandType(String input) {
+        try {
+            return CommandParser.parseType(input);
+        } catch (BaymaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the list named by the {@code list} query parameter.
+     *
+     * @return The list name, or null if none is given.
+     */
+    private static String readListName(URI uri) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("list=")) {
+                return URLDecoder.decode(parameter.substring("list=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
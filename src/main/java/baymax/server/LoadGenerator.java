@@ -0,0 +1,82 @@
+package baymax.server;
+
+import baymax.metrics.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends commands to a running {@link BaymaxServer} from many clients at once and reports the throughput.
+ * Usage: {@code LoadGenerator [port] [clients] [requests per client]}
+ */
+public class LoadGenerator {
+
+    // Mostly reads, with adds that are undone again so the list does not keep growing
+    private static final String[] COMMANDS = {
+        "list 1", "find book", "todo read book", "upcoming 5", "list 1", "find report", "undo", "list 1"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int requestsPerClient = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        URI uri = URI.create("http://localhost:" + port + BaymaxServer.COMMAND_PATH);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Histogram latencies = new Histogram();
+        LongAdder failures = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            int offset = i;
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < requestsPerClient; j++) {
+                    send(client, uri, COMMANDS[(offset + j) % COMMANDS.length], latencies, failures);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        long total = latencies.getCount();
+        System.out.printf("Sent %d requests from %d clients in %.2fs%n", total, clients, elapsedNanos / 1e9);
+        System.out.printf("Throughput: %.0f requests/s%n", total / (elapsedNanos / 1e9));
+        System.out.printf("Latency: p50 %.3fms, p99 %.3fms, max %.3fms%n", latencies.getPercentile(0.5) / 1e6,
+                latencies.getPercentile(0.99) / 1e6, latencies.getMax() / 1e6);
+        System.out.println("Failed: " + failures.sum());
+    }
+
+    /**
+     * Sends one command and records how long the reply took.
+     */
+    private static void send(HttpClient client, URI uri, String command, Histogram latencies, LongAdder failures) {
+        HttpRequest request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(command)).build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                failures.increment();
+            }
+        } catch (IOException e) {
+            failures.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.increment();
+        }
+        latencies.record(System.nanoTime() - start);
+    }
+}
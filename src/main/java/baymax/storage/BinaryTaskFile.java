@@ -0,0 +1,278 @@
+package baymax.storage;
+
+import baymax.task.Deadline;
+import baymax.task.Event;
+import baymax.task.Task;
+import baymax.task.TaskType;
+import baymax.task.Todo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes tasks in a compact binary format.
+ *
+ * The file starts with a magic number, a format version, the number of tasks and the id
+ * the next new task should get. Each task is stored as a type byte whose highest bit is the
+ * done flag, followed by the task's id, a length-prefixed UTF-8 description and the task's
+ * dates as epoch-based numbers.
+ * Files from version 2, which has no next id, and version 1, which has no ids, can still be read.
+ */
+public class BinaryTaskFile {
+
+    private static final int MAGIC = 0x42594D58; // "BYMX"
+    private static final short VERSION = 3;
+    private static final short VERSION_WITHOUT_NEXT_ID = 2;
+    private static final short VERSION_WITHOUT_IDS = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    // The magic number, version and task count, which are followed by the next id from version 3
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    // A todo from version 1 with an empty description
+    private static final int MIN_RECORD_SIZE = 1 + Integer.BYTES;
+    private static final int DONE_FLAG = 0x80;
+    private static final int TODO = 0;
+    private static final int DEADLINE = 1;
+    private static final int EVENT = 2;
+
+    /**
+     * Checks whether the given file starts with the binary format's magic number.
+     *
+     * @param file The file to check.
+     * @return True if the file is in the binary format.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public static boolean isBinary(File file) throws IOException {
+        if (file.length() < Integer.BYTES) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        }
+    }
+
+    /**
+     * Reads all tasks from a binary task file.
+     * If the file is truncated or a record is corrupted, the tasks read before it are kept.
+     *
+     * @param file The binary task file.
+     * @return The tasks in the order they were saved, and the saved id for the next new task.
+     * @throws IOException If the file is not in a supported format or cannot be read.
+     */
+    public static SavedTasks read(File file) throws IOException {
+        return read(file, new ArrayList<>());
+    }
+
+    /**
+     * Reads all tasks from a binary task file into the given list, adding each task as it is read.
+     * If the file is truncated or a record is corrupted, the tasks read before it are kept.
+     *
+     * @param file The binary task file.
+     * @param tasks The list to add the tasks to.
+     * @return The list with the tasks in the order they were saved, and the saved id for the next new task.
+     * @throws IOException If the file is not in a supported format or cannot be read.
+     */
+    public static SavedTasks read(File file, List<Task> tasks) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a Baymax task file: " + file);
+            }
+            short version = in.readShort();
+            if (version != VERSION && version != VERSION_WITHOUT_NEXT_ID && version != VERSION_WITHOUT_IDS) {
+                throw new IOException("Unsupported task file version: " + version);
+            }
+
+            int count = in.readInt();
+            long nextId = version == VERSION ? in.readLong() : 0;
+            long remaining = file.length() - HEADER_SIZE - (version == VERSION ? Long.BYTES : 0);
+            if (tasks instanceof ArrayList) {
+                // A corrupted count must not decide how much memory is set aside
+                ((ArrayList<Task>) tasks).ensureCapacity((int) Math.max(0, Math.min(count, remaining / MIN_RECORD_SIZE)));
+            }
+            byte[] scratch = new byte[256];
+            try {
+                if (count < 0) {
+                    throw new IllegalArgumentException("Invalid task count: " + count);
+                }
+                if (nextId < 0) {
+                    throw new IllegalArgumentException("Invalid next id: " + nextId);
+                }
+                for (int i = 0; i < count; i++) {
+                    int header = in.readUnsignedByte();
+                    boolean isDone = (header & DONE_FLAG) != 0;
+                    long id = version == VERSION_WITHOUT_IDS ? 0 : in.readLong();
+                    remaining -= version == VERSION_WITHOUT_IDS ? 1 : 1 + Long.BYTES;
+
+                    int length = in.readInt();
+                    remaining -= Integer.BYTES;
+                    if (length < 0 || length > remaining) {
+                        throw new IllegalArgumentException("Invalid description length: " + length);
+                    }
+                    if (scratch.length < length) {
+                        scratch = new byte[length];
+                    }
+                    in.readFully(scratch, 0, length);
+                    remaining -= length;
+                    String description = new String(scratch, 0, length, StandardCharsets.UTF_8);
+
+                    Task task;
+                    switch (header & ~DONE_FLAG) {
+                    case TODO:
+                        task = new Todo(description, isDone);
+                        break;
+                    case DEADLINE:
+                        LocalDateTime deadline = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+                        remaining -= Long.BYTES;
+                        task = new Deadline(description, deadline, isDone);
+                        break;
+                    case EVENT:
+                        LocalDate date = LocalDate.ofEpochDay(in.readLong());
+                        LocalTime from = LocalTime.ofSecondOfDay(in.readInt());
+                        LocalTime to = LocalTime.ofSecondOfDay(in.readInt());
+                        remaining -= Long.BYTES + 2 * Integer.BYTES;
+                        task = new Event(description, date, from, to, isDone);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown task type: " + header);
+                    }
+                    if (id < 0) {
+                        throw new IllegalArgumentException("Invalid task id: " + id);
+                    }
+                    if (id > 0) {
+                        task.setId(id);
+                    }
+                    tasks.add(task);
+                }
+            } catch (EOFException | IllegalArgumentException | DateTimeException e) {
+                System.out.println("Skipped corrupted tasks in " + file + ": expected " + count
+                        + " but found " + tasks.size());
+            }
+            return new SavedTasks(tasks, Math.max(nextId, 0));
+        }
+    }
+
+    /**
+     * Writes all tasks to the given path in the binary format, replacing its contents.
+     *
+     * @param tasks The tasks to write.
+     * @param nextId The id the next new task should get, or 0 if it is not known.
+     * @param path The path of the file to write.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    public static void write(List<Task> tasks, long nextId, String path) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(path)) {
+            write(tasks, nextId, out);
+        }
+    }
+
+    /**
+     * Writes all tasks to an output stream in the binary format.
+     * The stream is flushed but not closed.
+     *
+     * @param tasks The tasks to write.
+     * @param nextId The id the next new task should get, or 0 if it is not known.
+     * @param stream The stream to write to.
+     * @throws IOException If an error occurs while writing.
+     */
+    public static void write(List<Task> tasks, long nextId, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(tasks.size());
+        out.writeLong(nextId);
+        for (Task task : tasks) {
+            writeTask(out, task);
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes a single task record.
+     */
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        int done = task.isDone() ? DONE_FLAG : 0;
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        TaskType type = task.getType();
+
+        switch (type) {
+        case TODO:
+            out.writeByte(TODO | done);
+            out.writeLong(task.getId());
+            writeDescription(out, description);
+            break;
+        case DEADLINE:
+            out.writeByte(DEADLINE | done);
+            out.writeLong(task.getId());
+            writeDescription(out, description);
+            out.writeLong(((Deadline) task).getDeadline().toEpochSecond(ZoneOffset.UTC));
+            break;
+        case EVENT:
+            Event event = (Event) task;
+            out.writeByte(EVENT | done);
+            out.writeLong(task.getId());
+            writeDescription(out, description);
+            out.writeLong(event.getDate().toEpochDay());
+            out.writeInt(event.getFrom().toSecondOfDay());
+            out.writeInt(event.getTo().toSecondOfDay());
+            break;
+        default:
+            throw new IOException("Unknown task type: " + type);
+        }
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 description.
+     */
+    private static void writeDescription(DataOutputStream out, byte[] description) throws IOException {
+        out.writeInt(description.length);
+        out.write(description);
+    }
+
+    /**
+     * Converts a text task file into a binary task file.
+     *
+     * @param textFile The existing text task file.
+     * @param binaryFile The binary task file to create.
+     * @return The number of tasks converted.
+     * @throws IOException If an error occurs while reading or writing the files.
+     */
+    public static int convert(File textFile, File binaryFile) throws IOException {
+        SavedTasks saved = new TaskFileReader().read(textFile);
+        write(saved.getTasks(), saved.getNextId(), binaryFile.getPath());
+        return saved.getTasks().size();
+    }
+
+    /**
+     * Converts a text task file into a binary task file in one go.
+     * Usage: {@code BinaryTaskFile [text file] [binary file]}, defaulting to
+     * {@code ./data/tasks.txt} and {@code ./data/tasks.bin}.
+     *
+     * @param args The optional source and target paths.
+     */
+    public static void main(String[] args) {
+        File textFile = new File(args.length > 0 ? args[0] : "./data/tasks.txt");
+        File binaryFile = new File(args.length > 1 ? args[1] : "./data/tasks.bin");
+        try {
+            int count = convert(textFile, binaryFile);
+            System.out.println("Converted " + count + " tasks to " + binaryFile);
+        } catch (IOException e) {
+            System.out.println("Error converting tasks: " + e.getMessage());
+        }
+    }
+}
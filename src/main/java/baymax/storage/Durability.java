@@ -0,0 +1,13 @@
+package baymax.storage;
+
+/**
+ * Represents how often saved tasks are forced from the operating system's buffers onto the disk.
+ */
+public enum Durability {
+    /** Every save and journal record is forced to disk before returning. */
+    ALWAYS,
+    /** Writes are forced to disk within a second of being made, at most once per second. */
+    PERIODIC,
+    /** Writes are left to the operating system to flush. */
+    OS
+}
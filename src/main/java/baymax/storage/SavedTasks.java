@@ -0,0 +1,33 @@
+package baymax.storage;
+
+import baymax.task.Task;
+
+import java.util.List;
+
+/**
+ * Represents the contents of a task file: the tasks, and the id the next new task should get.
+ */
+public class SavedTasks {
+
+    private final List<Task> tasks;
+    private final long nextId;
+
+    /**
+     * Constructs a SavedTasks.
+     *
+     * @param tasks The tasks in the order they were saved.
+     * @param nextId The saved id for the next new task, or 0 if the file does not have one.
+     */
+    SavedTasks(List<Task> tasks, long nextId) {
+        this.tasks = tasks;
+        this.nextId = nextId;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public long getNextId() {
+        return nextId;
+    }
+}
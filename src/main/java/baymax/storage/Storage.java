@@ -1,108 +1,626 @@
 package baymax.storage;
 
-import baymax.task.Deadline;
+import baymax.metrics.Histogram;
+import baymax.metrics.Metrics;
 import baymax.task.Task;
-import baymax.task.Todo;
-import baymax.task.Event;
 
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Handles loading and saving tasks to a file.
+ *
+ * In journaled mode, each change is appended to a small journal file instead of
+ * rewriting the whole task file. The journal is folded back into the task file
+ * once it grows larger than the task list itself.
+ *
+ * In the binary format, tasks are saved next to the given file with a {@code .bin} extension,
+ * e.g. {@code tasks.bin} instead of {@code tasks.txt}. An existing text file is loaded if no
+ * binary file has been saved yet.
+ *
+ * With a write delay, whole-list saves are handed to a {@link WriteBehindWriter} and
+ * written in the background. Journaled changes are always written straight away.
+ *
+ * The task file is never overwritten in place: a full copy is written to a temporary
+ * file and moved over it, so a crash leaves either the old or the new list. The
+ * {@link Durability} policy decides how often writes are forced onto the disk.
  */
 public class Storage {
 
     private String filepath;
-    private static final String DIRECTORY_PATH = "./data";
-    private static final String FILE_PATH = DIRECTORY_PATH + "/tasks.txt";
+    private boolean isJournaled;
+    private StorageFormat format;
+    private String dataPath;
+    private String journalPath;
+    private String snapshotTempPath;
+    private int journalSize;
+    private WriteBehindWriter writeBehindWriter;
+    private Durability durability;
+    // The id the next new task should get, or 0 if it is not known
+    private volatile long nextId;
+    // Whether a periodic force of the task file and journal is waiting to run
+    private boolean isForceScheduled;
+    private static final int MIN_COMPACTION_THRESHOLD = 1000;
+    private static final long FORCE_INTERVAL_MILLIS = 1000;
+    private static final ScheduledExecutorService FORCE_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "baymax-force");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final String ADD_RECORD = "+";
+    private static final String DELETE_RECORD = "-";
+    private static final String MARK_RECORD = "M";
+    private static final String MARK_BY_ID_RECORD = "#";
+    private static final String COMPACTED_RECORD = "!";
+    private static final String SEPARATOR = " | ";
+    private static final Histogram LOAD_TIMER = Metrics.timer("storage.load");
+    private static final Histogram SAVE_TIMER = Metrics.timer("storage.save");
+    private static final Histogram SAVE_SIZES = Metrics.size("storage.save.bytes");
+    private static final Histogram JOURNAL_TIMER = Metrics.timer("storage.journal");
+    private static final Histogram JOURNAL_SIZES = Metrics.size("storage.journal.bytes");
 
     /**
-     * Constructs a Storage instance.
+     * Constructs a Storage instance that rewrites the whole file on every change.
      *
      * @param filepath The file path to load and save tasks.
      */
     public Storage(String filepath) {
+        this(filepath, false);
+    }
+
+    /**
+     * Constructs a Storage instance.
+     *
+     * @param filepath The file path to load and save tasks.
+     * @param isJournaled True to append changes to a journal instead of rewriting the file.
+     */
+    public Storage(String filepath, boolean isJournaled) {
+        this(filepath, isJournaled, StorageFormat.TEXT);
+    }
+
+    /**
+     * Constructs a Storage instance that saves tasks in the given format.
+     *
+     * @param filepath The file path to load and save tasks.
+     * @param isJournaled True to append changes to a journal instead of rewriting the file.
+     * @param format The format to save the task file in.
+     */
+    public Storage(String filepath, boolean isJournaled, StorageFormat format) {
+        this(filepath, isJournaled, format, 0);
+    }
+
+    /**
+     * Constructs a Storage instance that saves tasks in the given format,
+     * optionally writing whole-list saves in the background.
+     *
+     * @param filepath The file path to load and save tasks.
+     * @param isJournaled True to append changes to a journal instead of rewriting the file.
+     * @param format The format to save the task file in.
+     * @param writeDelayMillis The longest time a save may be delayed to combine it with
+     *         later saves, or 0 to save straight away. Ignored in journaled mode.
+     */
+    public Storage(String filepath, boolean isJournaled, StorageFormat format, long writeDelayMillis) {
+        this(filepath, isJournaled, format, writeDelayMillis, Durability.OS);
+    }
+
+    /**
+     * Constructs a Storage instance with every storage option.
+     *
+     * @param filepath The file path to load and save tasks.
+     * @param isJournaled True to append changes to a journal instead of rewriting the file.
+     * @param format The format to save the task file in.
+     * @param writeDelayMillis The longest time a save may be delayed to combine it with
+     *         later saves, or 0 to save straight away. Ignored in journaled mode.
+     * @param durability How often writes are forced onto the disk.
+     */
+    public Storage(String filepath, boolean isJournaled, StorageFormat format, long writeDelayMillis,
+            Durability durability) {
         this.filepath = filepath;
+        this.durability = durability;
+        this.isJournaled = isJournaled;
+        this.format = format;
+        this.dataPath = format == StorageFormat.BINARY ? toBinaryPath(filepath) : filepath;
+        this.journalPath = dataPath + ".journal";
+        this.snapshotTempPath = dataPath + ".tmp";
+        if (writeDelayMillis > 0 && !isJournaled) {
+            this.writeBehindWriter = new WriteBehindWriter(this, writeDelayMillis);
+        }
+    }
+
+    /**
+     * Returns the path of the binary task file that replaces the given text file.
+     */
+    private static String toBinaryPath(String filepath) {
+        return (filepath.endsWith(".txt") ? filepath.substring(0, filepath.length() - 4) : filepath) + ".bin";
     }
 
     /**
-     * Loads tasks from the file.
+     * Loads tasks from the file, then replays any changes recorded in the journal.
      *
      * @return A list of tasks retrieved from the file.
      * @throws IOException If an error occurs while reading the file.
      */
     public List<Task> loadTasks() throws IOException {
-        List<Task> tasks = new ArrayList<>();
-        File file = new File(FILE_PATH);
-        if (!file.exists()) {
-            return tasks;  // Return empty list if no saved tasks
-        }
+        return loadTasks(new ArrayList<>());
+    }
 
-        Scanner scanner = new Scanner(file);
+    /**
+     * Loads tasks from the file into the given empty list, then replays any changes recorded in the journal.
+     * Tasks are added to the list as they are read, so no other copy of the list is made. If a journal
+     * is waiting to be folded, the tasks are first loaded and replayed as task objects, since journal
+     * records change tasks in place.
+     *
+     * @param tasks The list to add the tasks to.
+     * @return The given list, holding the tasks retrieved from the file.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public List<Task> loadTasks(List<Task> tasks) throws IOException {
+        assert tasks.isEmpty() : "Tasks must be loaded into an empty list";
+        long start = System.nanoTime();
+        recoverCompaction();
 
-        // Read file according to set format
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            String[] parts = line.split(" \\| ");
+        File file = new File(dataPath);
+        if (!file.exists() && format == StorageFormat.BINARY) {
+            file = new File(filepath); // Not converted yet, the next save writes the binary file
+        }
 
-            // Catch corrupted files by detecting invalid content format
-            try {
-                if (parts.length < 3) {
-                    throw new IllegalArgumentException("Invalid task format: " + line);
-                }
+        boolean hasJournal = new File(journalPath).exists();
+        List<Task> loaded = hasJournal ? new ArrayList<>() : tasks;
+        if (!file.exists()) {
+            nextId = 0;
+        } else {
+            SavedTasks saved = BinaryTaskFile.isBinary(file)
+                    ? BinaryTaskFile.read(file, loaded)
+                    : new TaskFileReader().read(file, loaded);
+            nextId = saved.getNextId();
+        }
 
-                String type = parts[0];
-                boolean isDone = parts[1].equals("1");
-                String description = parts[2];
-                assert type != null : "Task type should not be null";
-                assert description != null && !description.isEmpty() : "Task description should not be empty";
-
-                switch (type) {
-                case "T":
-                    tasks.add(new Todo(description, isDone));
-                    break;
-                case "D":
-                    if (parts.length < 4) throw new IllegalArgumentException("Invalid Deadline format: " + line);
-                    tasks.add(new Deadline(description, parts[3], isDone));
-                    break;
-                case "E":
-                    if (parts.length < 6) throw new IllegalArgumentException("Invalid Event format: " + line);
-                    tasks.add(new Event(description, parts[3], parts[4], parts[5], isDone));
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown task type: " + type);
-                }
-            } catch (IllegalArgumentException e) {
-                System.out.println("Skipped corrupted line: " + e.getMessage());
+        if (hasJournal) {
+            if (!replayJournal(loaded)) {
+                // Fold what was replayed, so that new records are not appended after the corrupted one
+                writeSnapshot(loaded);
             }
+            tasks.addAll(loaded);
+        } else {
+            journalSize = 0;
         }
-        scanner.close();
+        Metrics.stop(LOAD_TIMER, start);
         return tasks;
     }
 
     /**
-     * Saves tasks to the file.
+     * Returns the id the next new task should get, as saved with the tasks.
+     * This is only known after the tasks have been loaded.
+     *
+     * @return The next id, or 0 if none was saved.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Sets the id the next new task should get. It is saved with the next write, so that
+     * the ids of deleted tasks are not given out again after the tasks are loaded.
+     *
+     * @param nextId The next id.
+     */
+    public void setNextId(long nextId) {
+        this.nextId = nextId;
+    }
+
+    /**
+     * Saves tasks to the file, or schedules them to be saved in the background.
+     * Once the background writer has been closed, tasks are saved straight away.
      *
      * @param tasks The list of tasks to be saved.
      * @throws IOException If an error occurs while writing to the file.
      */
     public void saveTasks(List<Task> tasks) throws IOException {
-        File directory = new File(DIRECTORY_PATH);
-        if (!directory.exists()) {
-            directory.mkdirs(); // Ensure directory exists before writing
+        if (writeBehindWriter == null) {
+            writeSnapshot(tasks);
+            return;
         }
-
-        BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH));
+        // The tasks are copied so that later changes do not race with the background write
+        List<Task> copies = new ArrayList<>(tasks.size());
         for (Task task : tasks) {
-            writer.write(task.toFileFormat());
-            writer.newLine();
+            copies.add(task.copy());
+        }
+        saveTasks(tasks, () -> copies);
+    }
+
+    /**
+     * Saves tasks to the file, or schedules them to be saved in the background.
+     * In the background, the tasks are only copied once it is time to write them, so
+     * changes made in quick succession share one copy instead of each copying the list.
+     *
+     * @param tasks The list of tasks to be saved, used when saving straight away.
+     * @param snapshot Returns a copy of the current tasks, and is safe to call from the background writer.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public void saveTasks(List<Task> tasks, Supplier<List<Task>> snapshot) throws IOException {
+        if (writeBehindWriter != null && writeBehindWriter.schedule(snapshot)) {
+            return;
+        }
+        writeSnapshot(tasks);
+    }
+
+    /**
+     * Waits until all scheduled saves have been written.
+     */
+    public void flush() {
+        if (writeBehindWriter != null) {
+            writeBehindWriter.flush();
+        }
+    }
+
+    /**
+     * Writes any scheduled saves and stops the background writer, if there is one.
+     * The storage should not be used afterwards.
+     */
+    public void close() {
+        if (writeBehindWriter != null) {
+            writeBehindWriter.close();
+        }
+        forceFiles();
+    }
+
+    /**
+     * Writes tasks to the file straight away.
+     * Any pending journal is folded into the file and removed.
+     *
+     * @param tasks The list of tasks to be saved.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    void writeSnapshot(List<Task> tasks) throws IOException {
+        long start = System.nanoTime();
+        createDirectory(); // Ensure directory exists before writing
+
+        File journal = new File(journalPath);
+        if (!journal.exists()) {
+            // Replace the file in one step, so an interrupted save leaves the old file intact
+            SAVE_SIZES.record(writeTasks(tasks, snapshotTempPath));
+            replaceFile(snapshotTempPath, dataPath);
+            if (durability == Durability.ALWAYS) {
+                forceDirectory();
+            }
+            Metrics.stop(SAVE_TIMER, start);
+            return;
+        }
+
+        // Fold the journal into a fresh copy of the file, and only mark the journal as
+        // folded once that copy is complete, so that a crash at any point can be recovered.
+        SAVE_SIZES.record(writeTasks(tasks, snapshotTempPath));
+        writeRecord(COMPACTED_RECORD);
+        finishCompaction();
+        Metrics.stop(SAVE_TIMER, start);
+    }
+
+    /**
+     * Records that a task was added at the given index.
+     *
+     * @param tasks The list of tasks after the change.
+     * @param index The index the task was added at.
+     * @param task The task that was added.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public void recordAdd(List<Task> tasks, int index, Task task) throws IOException {
+        recordChange(tasks, ADD_RECORD + SEPARATOR + index + SEPARATOR + task.toFileFormat());
+    }
+
+    /**
+     * Records that the task at the given index was deleted.
+     *
+     * @param tasks The list of tasks after the change.
+     * @param index The index of the deleted task.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public void recordDelete(List<Task> tasks, int index) throws IOException {
+        recordChange(tasks, DELETE_RECORD + SEPARATOR + index);
+    }
+
+    /**
+     * Records that the task at the given index was marked as done or not done.
+     *
+     * @param tasks The list of tasks after the change.
+     * @param index The index of the task.
+     * @param isDone The new completion status of the task.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public void recordMark(List<Task> tasks, int index, boolean isDone) throws IOException {
+        recordChange(tasks, MARK_RECORD + SEPARATOR + index + SEPARATOR + (isDone ? "1" : "0"));
+    }
+
+    /**
+     * Records that the task with the given id was marked as done or not done.
+     * Unlike {@link #recordMark(List, int, boolean)}, this does not need the task's position.
+     *
+     * @param tasks The list of tasks after the change.
+     * @param id The id of the task.
+     * @param isDone The new completion status of the task.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public void recordMarkById(List<Task> tasks, long id, boolean isDone) throws IOException {
+        recordChange(tasks, MARK_BY_ID_RECORD + SEPARATOR + id + SEPARATOR + (isDone ? "1" : "0"));
+    }
+
+    /**
+     * Persists a single change, either as a journal record or by saving the whole list.
+     * The journal is compacted once it holds more records than there are tasks,
+     * so each change costs amortised constant time.
+     */
+    private void recordChange(List<Task> tasks, String record) throws IOException {
+        if (!isJournaled) {
+            saveTasks(tasks);
+            return;
+        }
+        createDirectory();
+        writeRecord(record);
+        journalSize++;
+        if (journalSize >= Math.max(MIN_COMPACTION_THRESHOLD, tasks.size())) {
+            saveTasks(tasks);
+        }
+    }
+
+    /**
+     * Creates the directory holding the task file if it does not exist yet.
+     */
+    private void createDirectory() {
+        File directory = new File(dataPath).getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+
+    /**
+     * Writes every task to the given path in the configured format, replacing its contents.
+     *
+     * @return The number of bytes written.
+     */
+    private long writeTasks(List<Task> tasks, String path) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(path)) {
+            long savedNextId = nextId;
+            if (format == StorageFormat.BINARY) {
+                BinaryTaskFile.write(tasks, savedNextId, out);
+            } else {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                if (savedNextId > 0) {
+                    writer.write(TaskFileReader.NEXT_ID_PREFIX + savedNextId);
+                    writer.newLine();
+                }
+                for (Task task : tasks) {
+                    writer.write(task.toFileFormat());
+                    writer.newLine();
+                }
+                writer.flush();
+            }
+            force(out);
+            return out.getChannel().position();
+        }
+    }
+
+    /**
+     * Appends a single record to the journal.
+     */
+    private void writeRecord(String record) throws IOException {
+        long start = System.nanoTime();
+        byte[] bytes = (record + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        boolean isNewJournal = !new File(journalPath).exists();
+        try (FileOutputStream out = new FileOutputStream(journalPath, true)) {
+            out.write(bytes);
+            force(out);
+        }
+        if (isNewJournal && durability == Durability.ALWAYS) {
+            forceDirectory();
+        }
+        JOURNAL_SIZES.record(bytes.length);
+        Metrics.stop(JOURNAL_TIMER, start);
+    }
+
+    /**
+     * Forces written data onto the disk if the durability policy requires it.
+     * With the periodic policy, the files are forced one interval after the first write
+     * that has not been forced yet, so no write stays unforced for longer than that.
+     */
+    private void force(FileOutputStream out) throws IOException {
+        if (durability == Durability.ALWAYS) {
+            out.getChannel().force(true);
+        } else if (durability == Durability.PERIODIC) {
+            synchronized (this) {
+                if (isForceScheduled) {
+                    return;
+                }
+                isForceScheduled = true;
+            }
+            FORCE_SCHEDULER.schedule(this::forceFiles, FORCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Forces the task file, the journal and the directory holding them onto the disk.
+     */
+    private void forceFiles() {
+        synchronized (this) {
+            if (!isForceScheduled) {
+                return;
+            }
+            isForceScheduled = false;
+        }
+        for (String path : new String[] {dataPath, journalPath}) {
+            // The journal may be folded away at any time, so a missing file is expected
+            try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            } catch (NoSuchFileException e) {
+                continue;
+            } catch (IOException e) {
+                System.out.println("Error saving tasks: " + e.getMessage());
+            }
+        }
+        forceDirectory();
+    }
+
+    /**
+     * Forces the directory holding the task file onto the disk, so that files created or
+     * moved into it are not lost. Some platforms, such as Windows, cannot force a directory.
+     */
+    private void forceDirectory() {
+        Path directory = Path.of(dataPath).toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The files themselves were still forced
+        }
+    }
+
+    /**
+     * Replaces the task file with the folded copy and removes the journal.
+     */
+    private void finishCompaction() throws IOException {
+        if (new File(snapshotTempPath).exists()) {
+            replaceFile(snapshotTempPath, dataPath);
+            if (durability == Durability.ALWAYS) {
+                forceDirectory();
+            }
+        }
+        new File(journalPath).delete();
+        journalSize = 0;
+    }
+
+    /**
+     * Moves a file over another, atomically where the file system supports it.
+     */
+    private static void replaceFile(String source, String target) throws IOException {
+        try {
+            Files.move(Path.of(source), Path.of(target),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(Path.of(source), Path.of(target), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Completes a compaction that was interrupted after the folded copy was written,
+     * or discards the copy if it was interrupted before.
+     */
+    private void recoverCompaction() throws IOException {
+        File journal = new File(journalPath);
+        if (journal.exists() && isCompacted(journal)) {
+            finishCompaction();
+        } else {
+            new File(snapshotTempPath).delete();
+        }
+    }
+
+    /**
+     * Checks whether the last record of the journal marks it as already folded.
+     */
+    private boolean isCompacted(File journal) throws IOException {
+        String lastRecord = null;
+        try (Scanner scanner = new Scanner(journal, StandardCharsets.UTF_8)) {
+            while (scanner.hasNextLine()) {
+                lastRecord = scanner.nextLine();
+            }
+        }
+        return COMPACTED_RECORD.equals(lastRecord);
+    }
+
+    /**
+     * Applies the changes recorded in the journal to the loaded tasks.
+     * Replay stops at the first record that cannot be applied, since it is most likely the
+     * half-written end of the journal, and every later record depends on the ones before it.
+     *
+     * @param tasks The tasks loaded from the task file.
+     * @return False if replay stopped at a corrupted record, true otherwise.
+     */
+    private boolean replayJournal(List<Task> tasks) throws IOException {
+        File journal = new File(journalPath);
+        journalSize = 0;
+        if (!journal.exists()) {
+            return true;
+        }
+
+        // Built on the first record that finds a task by id, since most journals have none
+        Map<Long, Task> tasksById = null;
+        try (Scanner scanner = new Scanner(journal, StandardCharsets.UTF_8)) {
+            while (scanner.hasNextLine()) {
+                String record = scanner.nextLine();
+                journalSize++;
+                try {
+                    if (tasksById == null && record.startsWith(MARK_BY_ID_RECORD)) {
+                        tasksById = new HashMap<>();
+                        for (Task task : tasks) {
+                            tasksById.put(task.getId(), task);
+                        }
+                    }
+                    applyRecord(tasks, record, tasksById);
+                } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+                    System.out.println("Stopped at corrupted journal record: " + record);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies a single journal record to the tasks.
+     * Ids of added tasks are never given out again, even if the task is deleted later in the journal.
+     * Deleted tasks are left in the id lookup, since their ids never appear in later records.
+     *
+     * @param tasksById The tasks by id, or null if no record so far has needed it.
+     */
+    private void applyRecord(List<Task> tasks, String record, Map<Long, Task> tasksById) {
+        String[] parts = record.split(" \\| ", 3);
+        switch (parts[0]) {
+        case ADD_RECORD:
+            if (parts.length < 3) throw new IllegalArgumentException("Invalid add record: " + record);
+            Task task = TaskFileReader.parseLine(parts[2]);
+            tasks.add(Integer.parseInt(parts[1]), task);
+            if (tasksById != null) {
+                tasksById.put(task.getId(), task);
+            }
+            if (task.getId() > 0) {
+                nextId = Math.max(nextId, task.getId() + 1);
+            }
+            break;
+        case DELETE_RECORD:
+            if (parts.length < 2) throw new IllegalArgumentException("Invalid delete record: " + record);
+            tasks.remove(Integer.parseInt(parts[1]));
+            break;
+        case MARK_RECORD:
+            if (parts.length < 3) throw new IllegalArgumentException("Invalid mark record: " + record);
+            tasks.get(Integer.parseInt(parts[1])).setDone(parts[2].equals("1"));
+            break;
+        case MARK_BY_ID_RECORD:
+            if (parts.length < 3) throw new IllegalArgumentException("Invalid mark record: " + record);
+            Task marked = tasksById.get(Long.parseLong(parts[1]));
+            if (marked == null) throw new IllegalArgumentException("Unknown task in mark record: " + record);
+            marked.setDone(parts[2].equals("1"));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown journal record: " + record);
         }
-        writer.close();
     }
 }
@@ -0,0 +1,8 @@
+package baymax.storage;
+
+/**
+ * Represents the formats the task file can be saved in.
+ */
+public enum StorageFormat {
+    TEXT, BINARY
+}
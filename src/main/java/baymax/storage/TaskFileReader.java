@@ -0,0 +1,308 @@
+package baymax.storage;
+
+import baymax.task.Deadline;
+import baymax.task.Event;
+import baymax.task.Task;
+import baymax.task.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads tasks from a task file by memory-mapping it and scanning for the " | " delimiters by hand.
+ * Dates and times are read digit by digit, so no regex, split array or date formatter is needed per line.
+ *
+ * The file may start with a line such as "#next | 13", holding the id the next new task should get,
+ * so that the ids of deleted tasks are not given out again.
+ */
+public class TaskFileReader {
+
+    private static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+    private static final int DELIMITER_LENGTH = 3;
+    static final String NEXT_ID_PREFIX = "#next | ";
+    private static final byte[] NEXT_ID_PREFIX_BYTES = NEXT_ID_PREFIX.getBytes(StandardCharsets.UTF_8);
+
+    private ByteBuffer buffer;
+    private byte[] scratch = new byte[256];
+    private long nextId;
+
+    /**
+     * Converts a single line in the task file format into a Task.
+     *
+     * @param line The line to parse.
+     * @return The corresponding Task.
+     * @throws IllegalArgumentException If the line is not a valid task.
+     * @throws DateTimeException If a date or time in the line is out of range.
+     */
+    static Task parseLine(String line) {
+        TaskFileReader reader = new TaskFileReader();
+        reader.buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        return reader.parseLine(0, reader.buffer.limit());
+    }
+
+    /**
+     * Reads all tasks from the given file.
+     * Corrupted lines are skipped.
+     *
+     * @param file The task file to read.
+     * @return The tasks in the order they appear in the file, and the saved id for the next new task.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public SavedTasks read(File file) throws IOException {
+        return read(file, new ArrayList<>());
+    }
+
+    /**
+     * Reads all tasks from the given file into the given list, adding each task as it is read.
+     * Corrupted lines are skipped.
+     *
+     * @param file The task file to read.
+     * @param tasks The list to add the tasks to.
+     * @return The list with the tasks in the order they appear in the file, and the saved id for the next new task.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public SavedTasks read(File file, List<Task> tasks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+
+            // Files larger than a single mapping are read in windows that always start at a line
+            while (position < size) {
+                long windowSize = Math.min(size - position, MAX_WINDOW_SIZE);
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                int limit = (int) windowSize;
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (buffer.get(i) == '\n') {
+                        readLine(tasks, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+
+                if (position + windowSize == size) {
+                    if (lineStart < limit) {
+                        readLine(tasks, lineStart, limit);
+                    }
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line too long in " + file);
+                }
+                position += lineStart;
+            }
+        } finally {
+            buffer = null;
+        }
+        return new SavedTasks(tasks, nextId);
+    }
+
+    /**
+     * Parses the line between the given offsets and adds it to the tasks, skipping it if corrupted.
+     */
+    private void readLine(List<Task> tasks, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        try {
+            if (startsWith(start, end, NEXT_ID_PREFIX_BYTES)) {
+                nextId = parseId(start + NEXT_ID_PREFIX_BYTES.length, end);
+                return;
+            }
+            tasks.add(parseLine(start, end));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            System.out.println("Skipped corrupted line: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a line in the format "T | 0 | description", with any dates or times as trailing fields.
+     * The line may start with the task's id, e.g. "#12 | T | 0 | description".
+     */
+    private Task parseLine(int start, int end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("Empty line");
+        }
+        if (buffer.get(start) != '#') {
+            return parseFields(start, end);
+        }
+        int idEnd = start + 1;
+        while (idEnd < end && buffer.get(idEnd) != ' ') {
+            idEnd++;
+        }
+        if (idEnd + DELIMITER_LENGTH > end || !isDelimiter(idEnd)) {
+            throw new IllegalArgumentException("Invalid task id: " + decode(start, end));
+        }
+        Task task = parseFields(idEnd + DELIMITER_LENGTH, end);
+        task.setId(parseId(start + 1, idEnd));
+        return task;
+    }
+
+    /**
+     * Parses a positive id written in decimal digits between the given offsets.
+     */
+    private long parseId(int start, int end) {
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || id > (Long.MAX_VALUE - digit) / 10) {
+                throw new IllegalArgumentException("Invalid task id: " + decode(start, end));
+            }
+            id = id * 10 + digit;
+        }
+        if (id == 0) {
+            throw new IllegalArgumentException("Invalid task id: " + decode(start, end));
+        }
+        return id;
+    }
+
+    /**
+     * Checks whether the text between the given offsets starts with the given bytes.
+     */
+    private boolean startsWith(int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the fields of a line that follow the id, if there is one.
+     */
+    private Task parseFields(int start, int end) {
+        int descriptionStart = start + 2 * DELIMITER_LENGTH + 2;
+        if (descriptionStart >= end || !isDelimiter(start + 1) || !isDelimiter(start + DELIMITER_LENGTH + 2)) {
+            throw new IllegalArgumentException("Invalid task format: " + decode(start, end));
+        }
+
+        byte type = buffer.get(start);
+        boolean isDone = buffer.get(start + DELIMITER_LENGTH + 1) == '1';
+
+        switch (type) {
+        case 'T':
+            return new Todo(decode(descriptionStart, end), isDone);
+        case 'D': {
+            int byStart = lastDelimiter(descriptionStart, end);
+            if (byStart < 0) {
+                throw new IllegalArgumentException("Invalid Deadline format: " + decode(start, end));
+            }
+            LocalDateTime deadline = parseDateTime(byStart + DELIMITER_LENGTH, end);
+            return new Deadline(decode(descriptionStart, byStart), deadline, isDone);
+        }
+        case 'E': {
+            int toStart = lastDelimiter(descriptionStart, end);
+            int fromStart = lastDelimiter(descriptionStart, toStart);
+            int dateStart = lastDelimiter(descriptionStart, fromStart);
+            if (dateStart < 0) {
+                throw new IllegalArgumentException("Invalid Event format: " + decode(start, end));
+            }
+            LocalDate date = parseDate(dateStart + DELIMITER_LENGTH, fromStart);
+            LocalTime from = parseTime(fromStart + DELIMITER_LENGTH, toStart);
+            LocalTime to = parseTime(toStart + DELIMITER_LENGTH, end);
+            return new Event(decode(descriptionStart, dateStart), date, from, to, isDone);
+        }
+        default:
+            throw new IllegalArgumentException("Unknown task type: " + (char) type);
+        }
+    }
+
+    /**
+     * Checks whether a " | " delimiter starts at the given offset.
+     */
+    private boolean isDelimiter(int offset) {
+        return buffer.get(offset) == ' ' && buffer.get(offset + 1) == '|' && buffer.get(offset + 2) == ' ';
+    }
+
+    /**
+     * Finds the offset of the last delimiter that lies completely between the given offsets.
+     *
+     * @return The offset of the delimiter, or -1 if there is none.
+     */
+    private int lastDelimiter(int start, int end) {
+        for (int i = end - DELIMITER_LENGTH; i > start; i--) {
+            if (isDelimiter(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a date and time in "yyyy-MM-dd HHmm" format.
+     */
+    private LocalDateTime parseDateTime(int start, int end) {
+        if (end - start != 15 || buffer.get(start + 10) != ' ') {
+            throw new IllegalArgumentException("Invalid Deadline date: " + decode(start, end));
+        }
+        LocalDate date = parseDate(start, start + 10);
+        return date.atTime(parseNumber(start + 11, 2), parseNumber(start + 13, 2));
+    }
+
+    /**
+     * Parses a date in "yyyy-MM-dd" format.
+     */
+    private LocalDate parseDate(int start, int end) {
+        if (end - start != 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+            throw new IllegalArgumentException("Invalid Event date: " + decode(start, end));
+        }
+        return LocalDate.of(parseNumber(start, 4), parseNumber(start + 5, 2), parseNumber(start + 8, 2));
+    }
+
+    /**
+     * Parses a time in "HH:mm" or "HH:mm:ss" format.
+     */
+    private LocalTime parseTime(int start, int end) {
+        int length = end - start;
+        if ((length != 5 && length != 8) || buffer.get(start + 2) != ':') {
+            throw new IllegalArgumentException("Invalid Event time: " + decode(start, end));
+        }
+        if (length == 5) {
+            return LocalTime.of(parseNumber(start, 2), parseNumber(start + 3, 2));
+        }
+        if (buffer.get(start + 5) != ':') {
+            throw new IllegalArgumentException("Invalid Event time: " + decode(start, end));
+        }
+        return LocalTime.of(parseNumber(start, 2), parseNumber(start + 3, 2), parseNumber(start + 6, 2));
+    }
+
+    /**
+     * Parses a fixed number of decimal digits starting at the given offset.
+     */
+    private int parseNumber(int start, int digits) {
+        int value = 0;
+        for (int i = start; i < start + digits; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid number: " + decode(start, start + digits));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the UTF-8 text between the given offsets.
+     */
+    private String decode(int start, int end) {
+        int length = Math.max(0, end - start);
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,155 @@
+package baymax.storage;
+
+import baymax.task.Task;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Saves tasks on a dedicated thread, so that commands do not wait for the disk.
+ *
+ * Saves requested in quick succession are combined: the writer waits up to a
+ * maximum delay after the first unsaved change, then takes a single snapshot of the
+ * latest list and writes it.
+ */
+public class WriteBehindWriter {
+
+    private final Storage storage;
+    private final long maxDelayMillis;
+    private final Object lock = new Object();
+    private final Thread thread;
+    private final Thread shutdownHook;
+
+    // Takes a snapshot of the latest list waiting to be written, or null if everything has been written
+    private Supplier<List<Task>> pending;
+    private long pendingSince;
+    private boolean isWriting;
+    private boolean isFlushRequested;
+    private boolean isClosed;
+
+    /**
+     * Constructs a WriteBehindWriter and starts its thread.
+     * Pending tasks are also written when the program shuts down.
+     *
+     * @param storage The storage used to write the tasks.
+     * @param maxDelayMillis The longest time a change waits before it is written.
+     */
+    public WriteBehindWriter(Storage storage, long maxDelayMillis) {
+        this.storage = storage;
+        this.maxDelayMillis = maxDelayMillis;
+        this.thread = new Thread(this::run, "baymax-writer");
+        thread.setDaemon(true);
+        thread.start();
+        this.shutdownHook = new Thread(this::close, "baymax-writer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Schedules tasks to be written, replacing any list that has not been written yet.
+     * The snapshot is taken on the writer's thread just before writing, so it must be safe
+     * to take from there and must return tasks that do not change afterwards.
+     *
+     * @param snapshot Returns a copy of the tasks to write.
+     * @return False if the writer has been closed, in which case nothing is scheduled.
+     */
+    public boolean schedule(Supplier<List<Task>> snapshot) {
+        synchronized (lock) {
+            if (isClosed) {
+                return false;
+            }
+            if (pending == null) {
+                pendingSince = System.currentTimeMillis();
+            }
+            pending = snapshot;
+            lock.notifyAll();
+            return true;
+        }
+    }
+
+    /**
+     * Writes any pending tasks straight away and waits until they have been written.
+     */
+    public void flush() {
+        synchronized (lock) {
+            if (pending == null && !isWriting) {
+                // Nothing to write, and a request left behind would skip the delay for the next save
+                return;
+            }
+            isFlushRequested = true;
+            lock.notifyAll();
+            while ((pending != null || isWriting) && thread.isAlive()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes any pending tasks and stops the writer thread.
+     */
+    public void close() {
+        // Closing first means no tasks can be scheduled after the final flush
+        synchronized (lock) {
+            isClosed = true;
+            lock.notifyAll();
+        }
+        flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The program is already shutting down, and this may be the hook itself
+        }
+    }
+
+    /**
+     * Waits for tasks to be scheduled and writes them once the delay has passed or a flush is requested.
+     */
+    private void run() {
+        while (true) {
+            Supplier<List<Task>> snapshot;
+            synchronized (lock) {
+                try {
+                    while (!isReadyToWrite()) {
+                        if (isClosed) {
+                            return;
+                        }
+                        if (pending == null) {
+                            lock.wait();
+                        } else {
+                            lock.wait(Math.max(1, pendingSince + maxDelayMillis - System.currentTimeMillis()));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                snapshot = pending;
+                pending = null;
+                isWriting = true;
+            }
+
+            try {
+                storage.writeSnapshot(snapshot.get());
+            } catch (IOException e) {
+                System.out.println("Error saving tasks: " + e.getMessage());
+            }
+
+            synchronized (lock) {
+                isWriting = false;
+                if (pending == null) {
+                    isFlushRequested = false;
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private boolean isReadyToWrite() {
+        return pending != null
+                && (isFlushRequested || isClosed || System.currentTimeMillis() >= pendingSince + maxDelayMillis);
+    }
+}
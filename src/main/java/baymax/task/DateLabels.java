@@ -0,0 +1,55 @@
+package baymax.task;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers how dates and times were last shown, so that tasks sharing a date
+ * do not each format it again.
+ * Labels are looked up without locking, so threads listing tasks at the same time do not wait
+ * for each other. Once the maximum number of labels are kept, they are all dropped and
+ * formatted again when next needed.
+ *
+ * @param <T> The kind of date or time being shown.
+ */
+final class DateLabels<T extends TemporalAccessor> {
+
+    private final DateTimeFormatter format;
+    private final int maxLabels;
+    private final Map<T, String> labels = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a DateLabels.
+     *
+     * @param format How the dates or times are shown.
+     * @param maxLabels The largest number of labels kept at once.
+     */
+    DateLabels(DateTimeFormatter format, int maxLabels) {
+        assert maxLabels > 0 : "At least one label must be kept";
+        this.format = format;
+        this.maxLabels = maxLabels;
+    }
+
+    /**
+     * Returns the date or time as it is shown to the user.
+     *
+     * @param value The date or time to show.
+     * @return The formatted label.
+     */
+    String of(T value) {
+        String label = labels.get(value);
+        if (label != null) {
+            return label;
+        }
+        // Clearing needs no record of which labels were used recently, and the dates
+        // in a list usually fit well within the limit
+        if (labels.size() >= maxLabels) {
+            labels.clear();
+        }
+        label = format.format(value);
+        String existing = labels.putIfAbsent(value, label);
+        return existing != null ? existing : label;
+    }
+}
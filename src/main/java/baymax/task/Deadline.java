@@ -1,6 +1,10 @@
 package baymax.task;
 
+import baymax.exception.BaymaxException;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -12,6 +16,7 @@ public class Deadline extends Task{
     protected LocalDateTime deadline;
     private static final DateTimeFormatter OUTPUT_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy, hh:mma");
     private static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateLabels<LocalDateTime> DEADLINE_LABELS = new DateLabels<>(OUTPUT_FORMAT, 4096);
 
     /**
      * Constructs a Deadline task with the given description and deadline.
@@ -40,6 +45,57 @@ public class Deadline extends Task{
         this.isDone = isDone;
     }
 
+    /**
+     * Constructs a Deadline task with an already parsed deadline and completion status.
+     * This constructor is used when loading tasks from storage.
+     *
+     * @param description The description of the Deadline task.
+     * @param deadline The due date and time of the task.
+     * @param isDone Whether the task is marked as done.
+     */
+    public Deadline(String description, LocalDateTime deadline, boolean isDone) {
+        super(description, TaskType.DEADLINE);
+        assert deadline != null : "Deadline date cannot be null";
+        this.deadline = deadline;
+        this.isDone = isDone;
+    }
+
+    /**
+     * Creates a Deadline task from the arguments of a "deadline" command,
+     * given as "[description] /by [yyyy-MM-dd HHmm]".
+     *
+     * @param arguments The text after the command word.
+     * @return The new Deadline task.
+     * @throws BaymaxException If the description or deadline is missing or invalid.
+     */
+    public static Deadline parse(String arguments) throws BaymaxException {
+        String text = arguments.trim();
+        if (text.isEmpty()) {
+            throw new BaymaxException("Please give me a description of your deadline task!");
+        }
+
+        int by = text.indexOf(" /by ");
+        int end = text.length();
+        if (by < 0 || end - by != 20 || text.charAt(by + 15) != ' ') {
+            throw new BaymaxException("Please use this format: deadline [description] /by [yyyy-MM-dd HHmm]");
+        }
+        LocalDate date = parseDate(text, by + 5, by + 15);
+        LocalTime time = parseTime(text, by + 16, end);
+        if (date == null || time == null) {
+            throw new BaymaxException("Please use this format: deadline [description] /by [yyyy-MM-dd HHmm]");
+        }
+        return new Deadline(text.substring(0, by), date.atTime(time), false);
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    protected Task copyDetails() {
+        return new Deadline(description, deadline, isDone);
+    }
+
     /**
      * Converts the Deadline task into a file-friendly format for storage.
      *
@@ -47,16 +103,16 @@ public class Deadline extends Task{
      */
     @Override
     public String toFileFormat() {
-        return "D | " + (isDone ? "1" : "0") + " | " + description + " | " + deadline.format(INPUT_FORMAT);
+        return formatId() + "D | " + (isDone ? "1" : "0") + " | " + description + " | " + deadline.format(INPUT_FORMAT);
     }
 
     /**
-     * Returns a string representation of the Deadline task.
+     * Builds a string representation of the Deadline task.
      *
      * @return The formatted Deadline task string.
      */
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + deadline.format(OUTPUT_FORMAT) + ")";
+    protected String render() {
+        return "[D]" + super.render() + " (by: " + DEADLINE_LABELS.of(deadline) + ")";
     }
 }
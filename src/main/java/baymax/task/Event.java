@@ -1,5 +1,7 @@
 package baymax.task;
 
+import baymax.exception.BaymaxException;
+
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
@@ -15,6 +17,9 @@ public class Event extends Task{
     private LocalTime to;
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy");
     private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("h:mm a");
+    private static final DateLabels<LocalDate> DATE_LABELS = new DateLabels<>(DATE_FORMAT, 4096);
+    // Large enough for every minute of the day
+    private static final DateLabels<LocalTime> TIME_LABELS = new DateLabels<>(TIME_FORMAT, 24 * 60);
 
     /**
      * Constructs an Event task with the given description, date, start time, and end time.
@@ -54,6 +59,75 @@ public class Event extends Task{
         this.isDone = isDone;
     }
 
+    /**
+     * Constructs an Event task with an already parsed date, time range and completion status.
+     * This constructor is used when loading tasks from storage.
+     *
+     * @param description The description of the Event task.
+     * @param date The date of the event.
+     * @param from The start time.
+     * @param to The end time.
+     * @param isDone Whether the task is marked as done.
+     */
+    public Event(String description, LocalDate date, LocalTime from, LocalTime to, boolean isDone) {
+        super(description, TaskType.EVENT);
+        assert date != null && from != null && to != null : "Event date and times cannot be null";
+        this.date = date;
+        this.from = from;
+        this.to = to;
+        this.isDone = isDone;
+    }
+
+    /**
+     * Creates an Event task from the arguments of an "event" command,
+     * given as "[description] /on [yyyy-MM-dd] /from [HHmm] /to [HHmm]".
+     *
+     * @param arguments The text after the command word.
+     * @return The new Event task.
+     * @throws BaymaxException If the description, date or times are missing or invalid.
+     */
+    public static Event parse(String arguments) throws BaymaxException {
+        String format = "Please use this format: event [description] /on [yyyy-MM-dd] /from [HHmm] /to [HHmm]";
+        String text = arguments.trim();
+        if (text.isEmpty()) {
+            throw new BaymaxException("Please give me a description of your event task!");
+        }
+
+        int on = text.indexOf(" /on ");
+        int from = on < 0 ? -1 : text.indexOf(" /from ", on);
+        int to = from < 0 ? -1 : text.indexOf(" /to ", from);
+        if (to < 0) {
+            throw new BaymaxException(format);
+        }
+        LocalDate date = parseDate(text, on + 5, from);
+        LocalTime fromTime = parseTime(text, from + 7, to);
+        LocalTime toTime = parseTime(text, to + 5, text.length());
+        if (date == null || fromTime == null || toTime == null) {
+            throw new BaymaxException(format);
+        }
+        if (fromTime.isAfter(toTime)) {
+            throw new BaymaxException("Hey your start time must be before end time.");
+        }
+        return new Event(text.substring(0, on), date, fromTime, toTime, false);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getFrom() {
+        return from;
+    }
+
+    public LocalTime getTo() {
+        return to;
+    }
+
+    @Override
+    protected Task copyDetails() {
+        return new Event(description, date, from, to, isDone);
+    }
+
     /**
      * Converts the Event task into a file-friendly format for storage.
      *
@@ -61,17 +135,17 @@ public class Event extends Task{
      */
     @Override
     public String toFileFormat() {
-        return "E | " + (isDone ? "1" : "0") + " | " + description + " | " + date + " | " + from + " | " + to;
+        return formatId() + "E | " + (isDone ? "1" : "0") + " | " + description + " | " + date + " | " + from + " | " + to;
     }
 
     /**
-     * Returns a string representation of the Event task.
+     * Builds a string representation of the Event task.
      *
      * @return The formatted Event task string.
      */
     @Override
-    public String toString() {
-        return "[E]" + super.toString() + " (on: " + date.format(DATE_FORMAT)
-                + " from: " + from.format(TIME_FORMAT) + " to: " + to.format(TIME_FORMAT) + ")";
+    protected String render() {
+        return "[E]" + super.render() + " (on: " + DATE_LABELS.of(date)
+                + " from: " + TIME_LABELS.of(from) + " to: " + TIME_LABELS.of(to) + ")";
     }
 }
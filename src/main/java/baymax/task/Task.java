@@ -1,6 +1,8 @@
 package baymax.task;
 
-import baymax.exception.BaymaxException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 /**
  * Represents an abstract task that can be managed by the Baymax application.
@@ -10,6 +12,10 @@ public abstract class Task {
     protected String description;
     protected boolean isDone;
     protected TaskType type;
+    // Identifies the task for as long as it exists, or 0 until it is added to a task list
+    private long id;
+    // The result of toString(), kept until the task changes
+    private String rendered;
 
     /**
      * Constructs a Task with the specified description and type.
@@ -39,11 +45,31 @@ public abstract class Task {
         return description;
     }
 
+    public TaskType getType() {
+        return type;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gives the task its id. This is done once, when the task is first added to a task list
+     * or loaded from storage.
+     *
+     * @param id The id, which must be positive.
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task id must be positive";
+        this.id = id;
+    }
+
     /**
      * Marks the task as done.
      */
     public void markAsDone() {
         isDone = true;
+        rendered = null;
     }
 
     /**
@@ -51,48 +77,73 @@ public abstract class Task {
      */
     public void markAsNotDone() {
         isDone = false;
+        rendered = null;
     }
 
     /**
-     * Converts a line from the saved file back into a Task object.
+     * Reads a date in "yyyy-MM-dd" format from part of the given text.
      *
-     * @param line The line from the file, formatted as "T | 0 | description".
-     * @return The corresponding Task object.
-     * @throws BaymaxException If the data format is invalid or corrupted.
+     * @param text The text containing the date.
+     * @param start The index the date starts at.
+     * @param end The index just after the date.
+     * @return The date, or null if that part of the text is not a valid date.
      */
-    public static Task fromFileFormat(String line) throws BaymaxException {
-        assert line != null && !line.trim().isEmpty() : "Input line cannot be null or empty";
-        String[] parts = line.split(" \\| ");
-        assert parts.length >= 3 : "Invalid file format, must have at least 3 parts";
-
-        String type = parts[0];
-        boolean isDone = parts[1].equals("1");
-        String description = parts[2];
-
-        switch (type) {
-        case "T":
-            Todo todo = new Todo(description);
-            if (isDone) {
-                todo.markAsDone();
-            }
-            return todo;
-        case "D":
-            assert parts.length >= 4 : "Invalid Deadline format";
-            Deadline deadline = new Deadline(description, parts[3]);
-            if (isDone) {
-                deadline.markAsDone();
-            }
-            return deadline;
-        case "E":
-            assert parts.length >= 5 : "Invalid Event format";
-            Event event = new Event(description, parts[3], parts[4], parts[5]);
-            if (isDone) {
-                event.markAsDone();
+    static LocalDate parseDate(String text, int start, int end) {
+        if (end - start != 10 || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            return null;
+        }
+        int year = parseDigits(text, start, 4);
+        int month = parseDigits(text, start + 5, 2);
+        int day = parseDigits(text, start + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a time in "HHmm" format from part of the given text.
+     *
+     * @param text The text containing the time.
+     * @param start The index the time starts at.
+     * @param end The index just after the time.
+     * @return The time, or null if that part of the text is not a valid time.
+     */
+    static LocalTime parseTime(String text, int start, int end) {
+        if (end - start != 4) {
+            return null;
+        }
+        int hour = parseDigits(text, start, 2);
+        int minute = parseDigits(text, start + 2, 2);
+        if (hour < 0 || minute < 0) {
+            return null;
+        }
+        try {
+            return LocalTime.of(hour, minute);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a fixed number of decimal digits from the given text.
+     *
+     * @return The number, or -1 if any of the characters is not a digit.
+     */
+    private static int parseDigits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
             }
-            return event;
-        default:
-            throw new BaymaxException("Unknown task type: " + type);
+            value = value * 10 + (c - '0');
         }
+        return value;
     }
 
     /**
@@ -102,21 +153,62 @@ public abstract class Task {
      */
     public abstract String toFileFormat();
 
+    /**
+     * Returns a copy of the task with the same id, which does not change when this task does.
+     *
+     * @return The copy.
+     */
+    public final Task copy() {
+        Task copy = copyDetails();
+        copy.id = id;
+        return copy;
+    }
+
+    /**
+     * Returns a new task with the same type, description, dates and status as this one.
+     *
+     * @return The new task, without an id.
+     */
+    protected abstract Task copyDetails();
+
+    /**
+     * Returns the id field that starts the task's saved line, or nothing if it has no id yet.
+     *
+     * @return The id followed by a separator, e.g. "#12 | ".
+     */
+    protected String formatId() {
+        return id > 0 ? "#" + id + " | " : "";
+    }
+
     public boolean isDone() {
         return isDone;
     }
 
     public void setDone(boolean isDone) {
         this.isDone = isDone;
+        rendered = null;
     }
 
     /**
-     * Returns a string representation of the task, including its status and description.
+     * Returns a string representation of the task.
+     * The string is only built again after the task changes.
      *
      * @return The formatted task string.
      */
     @Override
-    public String toString() {
+    public final String toString() {
+        if (rendered == null) {
+            rendered = render();
+        }
+        return rendered;
+    }
+
+    /**
+     * Builds a string representation of the task, including its status and description.
+     *
+     * @return The formatted task string.
+     */
+    protected String render() {
         return "[" + getStatusIcon() + "] " + description;
     }
 }
@@ -1,5 +1,6 @@
 package baymax.task;
 
+import baymax.exception.BaymaxException;
 import baymax.task.Task;
 import baymax.task.TaskType;
 
@@ -30,6 +31,21 @@ public class Todo extends Task {
         this.isDone = isDone;
     }
 
+    /**
+     * Creates a Todo task from the arguments of a "todo" command.
+     *
+     * @param arguments The text after the command word.
+     * @return The new Todo task.
+     * @throws BaymaxException If the description is missing.
+     */
+    public static Todo parse(String arguments) throws BaymaxException {
+        String description = arguments.trim();
+        if (description.isEmpty()) {
+            throw new BaymaxException("Please give me a description of your todo task!");
+        }
+        return new Todo(description);
+    }
+
     /**
      * Converts the Todo task into a file-friendly format for storage.
      *
@@ -37,16 +53,21 @@ public class Todo extends Task {
      */
     @Override
     public String toFileFormat() {
-        return "T | " + (isDone ? "1" : "0") + " | " + description;
+        return formatId() + "T | " + (isDone ? "1" : "0") + " | " + description;
+    }
+
+    @Override
+    protected Task copyDetails() {
+        return new Todo(description, isDone);
     }
 
     /**
-     * Returns a string representation of the Todo task.
+     * Builds a string representation of the Todo task.
      *
      * @return The formatted Todo task string.
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String render() {
+        return "[T]" + super.render();
     }
 }
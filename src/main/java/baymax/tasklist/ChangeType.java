@@ -0,0 +1,8 @@
+package baymax.tasklist;
+
+/**
+ * Represents the kinds of changes to the task list that can be undone.
+ */
+public enum ChangeType {
+    ADD, DELETE, MARK, BATCH
+}
@@ -0,0 +1,316 @@
+package baymax.tasklist;
+
+import baymax.task.Deadline;
+import baymax.task.Event;
+import baymax.task.Task;
+import baymax.task.TaskType;
+import baymax.task.Todo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Keeps tasks in columns of primitive values instead of as task objects, so that very
+ * large lists fit in a small heap. Descriptions share a single character buffer.
+ *
+ * Each call to {@link #get(int)} builds a new task from the columns. Changing that task
+ * does not change the store, so a changed task must be written back with {@link #set(int, Task)}.
+ */
+final class CompactTaskStore extends AbstractList<Task> implements RandomAccess {
+
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private int size;
+    private byte[] types;
+    private final BitSet done;
+    private long[] ids;
+    // Deadlines keep the epoch second they are due, and events the epoch second they start
+    private long[] times;
+    // Events keep the second of the day they end
+    private int[] endTimes;
+    private int[] textStarts;
+    private int[] textLengths;
+    private char[] text;
+    private int textUsed;
+    // Characters of descriptions that were removed or replaced, reclaimed once they take up most of the buffer
+    private int textUnused;
+
+    /**
+     * Constructs a CompactTaskStore holding the given tasks.
+     *
+     * @param tasks The tasks to store, in order.
+     */
+    CompactTaskStore(Collection<Task> tasks) {
+        done = new BitSet();
+        int capacity = Math.max(tasks.size(), 16);
+        types = new byte[capacity];
+        ids = new long[capacity];
+        times = new long[capacity];
+        endTimes = new int[capacity];
+        textStarts = new int[capacity];
+        textLengths = new int[capacity];
+        text = new char[capacity * 16];
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Constructs a copy of another store, copying its columns instead of rebuilding its tasks.
+     */
+    private CompactTaskStore(CompactTaskStore other) {
+        size = other.size;
+        int capacity = Math.max(size, 16);
+        types = Arrays.copyOf(other.types, capacity);
+        done = (BitSet) other.done.clone();
+        ids = Arrays.copyOf(other.ids, capacity);
+        times = Arrays.copyOf(other.times, capacity);
+        endTimes = Arrays.copyOf(other.endTimes, capacity);
+        textStarts = Arrays.copyOf(other.textStarts, capacity);
+        textLengths = Arrays.copyOf(other.textLengths, capacity);
+        text = Arrays.copyOf(other.text, Math.max(other.textUsed, 16));
+        textUsed = other.textUsed;
+        textUnused = other.textUnused;
+    }
+
+    /**
+     * Returns a copy of the store, which does not change when this store does.
+     * Only the columns are copied, so this is much cheaper than copying every task.
+     *
+     * @return The copy.
+     */
+    CompactTaskStore copy() {
+        return new CompactTaskStore(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        String description = new String(text, textStarts[index], textLengths[index]);
+        boolean isDone = done.get(index);
+        Task task;
+        switch (TYPES[types[index]]) {
+        case DEADLINE:
+            task = new Deadline(description, LocalDateTime.ofEpochSecond(times[index], 0, ZoneOffset.UTC), isDone);
+            break;
+        case EVENT:
+            LocalDateTime start = LocalDateTime.ofEpochSecond(times[index], 0, ZoneOffset.UTC);
+            task = new Event(description, start.toLocalDate(), start.toLocalTime(),
+                    LocalTime.ofSecondOfDay(endTimes[index]), isDone);
+            break;
+        default:
+            task = new Todo(description, isDone);
+            break;
+        }
+        if (ids[index] > 0) {
+            task.setId(ids[index]);
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        textUnused += textLengths[index];
+        write(index, task);
+        compactTextIfSparse();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        Objects.checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        int moved = size - index;
+        System.arraycopy(types, index, types, index + 1, moved);
+        System.arraycopy(ids, index, ids, index + 1, moved);
+        System.arraycopy(times, index, times, index + 1, moved);
+        System.arraycopy(endTimes, index, endTimes, index + 1, moved);
+        System.arraycopy(textStarts, index, textStarts, index + 1, moved);
+        System.arraycopy(textLengths, index, textLengths, index + 1, moved);
+        shiftDone(index, size, 1);
+        size++;
+        modCount++;
+        write(index, task);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        removeRange(index, index + 1);
+        return task;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        int removed = toIndex - fromIndex;
+        for (int i = fromIndex; i < toIndex; i++) {
+            textUnused += textLengths[i];
+        }
+        int moved = size - toIndex;
+        System.arraycopy(types, toIndex, types, fromIndex, moved);
+        System.arraycopy(ids, toIndex, ids, fromIndex, moved);
+        System.arraycopy(times, toIndex, times, fromIndex, moved);
+        System.arraycopy(endTimes, toIndex, endTimes, fromIndex, moved);
+        System.arraycopy(textStarts, toIndex, textStarts, fromIndex, moved);
+        System.arraycopy(textLengths, toIndex, textLengths, fromIndex, moved);
+        shiftDone(toIndex, size, -removed);
+        size -= removed;
+        modCount++;
+        compactTextIfSparse();
+    }
+
+    /**
+     * Removes the selected tasks, moving every remaining task at most once.
+     *
+     * @param selected The indexes of the tasks to remove.
+     */
+    void removeAll(BitSet selected) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (selected.get(i)) {
+                textUnused += textLengths[i];
+                continue;
+            }
+            types[kept] = types[i];
+            ids[kept] = ids[i];
+            times[kept] = times[i];
+            endTimes[kept] = endTimes[i];
+            textStarts[kept] = textStarts[i];
+            textLengths[kept] = textLengths[i];
+            done.set(kept, done.get(i));
+            kept++;
+        }
+        done.clear(kept, size);
+        size = kept;
+        modCount++;
+        compactTextIfSparse();
+    }
+
+    /**
+     * Gets the id of the task at the given index, without building the task.
+     *
+     * @param index The index of the task.
+     * @return The task's id, or 0 if it has none.
+     */
+    long getId(int index) {
+        Objects.checkIndex(index, size);
+        return ids[index];
+    }
+
+    /**
+     * Gives the task at the given index a new id, without building the task.
+     *
+     * @param index The index of the task.
+     * @param id The new id.
+     */
+    void setId(int index, long id) {
+        Objects.checkIndex(index, size);
+        ids[index] = id;
+    }
+
+    /**
+     * Finds the index of the task with the given id.
+     *
+     * @param id The id of the task.
+     * @return The task's index, or -1 if no task has that id.
+     */
+    int indexOfId(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stores a task's values in the columns at the given index.
+     */
+    private void write(int index, Task task) {
+        types[index] = (byte) task.getType().ordinal();
+        done.set(index, task.isDone());
+        ids[index] = task.getId();
+        switch (task.getType()) {
+        case DEADLINE:
+            times[index] = ((Deadline) task).getDeadline().toEpochSecond(ZoneOffset.UTC);
+            endTimes[index] = 0;
+            break;
+        case EVENT:
+            Event event = (Event) task;
+            LocalDate date = event.getDate();
+            times[index] = date.atTime(event.getFrom()).toEpochSecond(ZoneOffset.UTC);
+            endTimes[index] = event.getTo().toSecondOfDay();
+            break;
+        default:
+            times[index] = 0;
+            endTimes[index] = 0;
+            break;
+        }
+
+        String description = task.getDescription();
+        if (textUsed + description.length() > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textUsed + description.length()));
+        }
+        description.getChars(0, description.length(), text, textUsed);
+        textStarts[index] = textUsed;
+        textLengths[index] = description.length();
+        textUsed += description.length();
+    }
+
+    /**
+     * Moves the completion status of the tasks from start to end by the given distance.
+     */
+    private void shiftDone(int start, int end, int distance) {
+        BitSet moved = done.get(start, end);
+        done.clear(Math.min(start, start + distance), end + Math.max(distance, 0));
+        for (int i = moved.nextSetBit(0); i >= 0; i = moved.nextSetBit(i + 1)) {
+            done.set(start + distance + i);
+        }
+    }
+
+    /**
+     * Rewrites the character buffer without removed descriptions once they take up most of it.
+     */
+    private void compactTextIfSparse() {
+        if (textUnused < 1024 || textUnused < textUsed / 2) {
+            return;
+        }
+        char[] compacted = new char[Math.max(textUsed - textUnused, 16) * 2];
+        int used = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(text, textStarts[i], compacted, used, textLengths[i]);
+            textStarts[i] = used;
+            used += textLengths[i];
+        }
+        text = compacted;
+        textUsed = used;
+        textUnused = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        times = Arrays.copyOf(times, newCapacity);
+        endTimes = Arrays.copyOf(endTimes, newCapacity);
+        textStarts = Arrays.copyOf(textStarts, newCapacity);
+        textLengths = Arrays.copyOf(textLengths, newCapacity);
+    }
+}
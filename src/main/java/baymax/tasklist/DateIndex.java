@@ -0,0 +1,114 @@
+package baymax.tasklist;
+
+import baymax.task.Deadline;
+import baymax.task.Event;
+import baymax.task.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Indexes deadlines and events by the date and time they are due or start,
+ * so that tasks in a date range can be found without going through the whole list.
+ * Todo tasks have no date and are not indexed.
+ */
+public class DateIndex {
+
+    private final NavigableMap<LocalDateTime, List<Task>> tasksByTime = new TreeMap<>();
+
+    /**
+     * Adds a task to the index if it has a date.
+     *
+     * @param task The task to add.
+     */
+    public void add(Task task) {
+        LocalDateTime time = getTime(task);
+        if (time != null) {
+            tasksByTime.computeIfAbsent(time, key -> new ArrayList<>()).add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    public void remove(Task task) {
+        LocalDateTime time = getTime(task);
+        if (time == null) {
+            return;
+        }
+        List<Task> tasks = tasksByTime.get(time);
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            tasksByTime.remove(time);
+        }
+    }
+
+    /**
+     * Clears the index and adds all the given tasks.
+     *
+     * @param tasks The tasks to index.
+     */
+    public void rebuild(List<Task> tasks) {
+        tasksByTime.clear();
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Finds the tasks due or starting within a time range, earliest first.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, exclusive.
+     * @return The tasks in the range.
+     */
+    public List<Task> between(LocalDateTime from, LocalDateTime to) {
+        List<Task> matchingTasks = new ArrayList<>();
+        for (List<Task> tasks : tasksByTime.subMap(from, true, to, false).values()) {
+            matchingTasks.addAll(tasks);
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Finds the first tasks due or starting at or after the given time, earliest first.
+     *
+     * @param from The time to start from.
+     * @param count The maximum number of tasks to return.
+     * @return The upcoming tasks.
+     */
+    public List<Task> upcoming(LocalDateTime from, int count) {
+        List<Task> matchingTasks = new ArrayList<>();
+        for (Map.Entry<LocalDateTime, List<Task>> entry : tasksByTime.tailMap(from, true).entrySet()) {
+            for (Task task : entry.getValue()) {
+                if (matchingTasks.size() == count) {
+                    return matchingTasks;
+                }
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Gets the date and time a task is due or starts.
+     *
+     * @return The task's time, or null if it has no date.
+     */
+    static LocalDateTime getTime(Task task) {
+        switch (task.getType()) {
+        case DEADLINE:
+            return ((Deadline) task).getDeadline();
+        case EVENT:
+            Event event = (Event) task;
+            return event.getDate().atTime(event.getFrom());
+        default:
+            return null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package baymax.tasklist;
+
+import baymax.task.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes tasks by the three-letter fragments of their lowercase descriptions,
+ * so that substring searches only need to check tasks sharing every fragment of the keyword.
+ */
+public class KeywordIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    // Leaves room between consecutive tasks for tasks restored in between them
+    private static final long SEQUENCE_GAP = 1L << 20;
+
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    // Remembers the order tasks were indexed in, which matches their order in the list
+    private final Map<Task, Long> sequence = new HashMap<>();
+    private long nextSequence;
+
+    /**
+     * Adds a task that was appended to the end of the task list.
+     *
+     * @param task The task to add.
+     */
+    public void add(Task task) {
+        index(task, nextSequence);
+        nextSequence += SEQUENCE_GAP;
+    }
+
+    /**
+     * Adds a task that was inserted between two tasks in the task list.
+     *
+     * @param task The task to add.
+     * @param previous The task before it, or null if it is the first task.
+     * @param next The task after it, or null if it is the last task.
+     */
+    public void insert(Task task, Task previous, Task next) {
+        if (next == null) {
+            add(task);
+            return;
+        }
+        long high = sequence.get(next);
+        long low = previous == null ? high - 2 * SEQUENCE_GAP : sequence.get(previous);
+        if (high - low < 2) {
+            renumber();
+            high = sequence.get(next);
+            low = previous == null ? high - 2 * SEQUENCE_GAP : sequence.get(previous);
+        }
+        index(task, low + (high - low) / 2);
+    }
+
+    /**
+     * Records the task's position and adds it under each fragment of its description.
+     */
+    private void index(Task task, long position) {
+        sequence.put(task, position);
+        for (String gram : grams(task.getDescription().toLowerCase())) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    public void remove(Task task) {
+        sequence.remove(task);
+        for (String gram : grams(task.getDescription().toLowerCase())) {
+            Set<Task> tasks = postings.get(gram);
+            if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Spreads the sequence numbers out again once there is no room left between two tasks.
+     */
+    private void renumber() {
+        List<Map.Entry<Task, Long>> entries = new ArrayList<>(sequence.entrySet());
+        entries.sort(Map.Entry.comparingByValue());
+        nextSequence = 0;
+        for (Map.Entry<Task, Long> entry : entries) {
+            sequence.put(entry.getKey(), nextSequence);
+            nextSequence += SEQUENCE_GAP;
+        }
+    }
+
+    /**
+     * Clears the index and adds all the given tasks in order.
+     *
+     * @param tasks The tasks to index.
+     */
+    public void rebuild(List<Task> tasks) {
+        postings.clear();
+        sequence.clear();
+        nextSequence = 0;
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Checks whether the keyword is long enough to be looked up in the index.
+     *
+     * @param keyword The lowercase keyword.
+     * @return True if {@link #search(String)} can be used for the keyword.
+     */
+    public boolean isSearchable(String keyword) {
+        return keyword.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain the keyword.
+     *
+     * @param keyword The lowercase keyword, at least three characters long.
+     * @return The matching tasks, in the same order as the task list.
+     */
+    public List<Task> search(String keyword) {
+        assert isSearchable(keyword) : "Keyword is too short to search the index";
+
+        // Start from the rarest fragment, then only keep tasks that have every other fragment
+        Set<String> grams = grams(keyword);
+        Set<Task> rarest = null;
+        List<Set<Task>> others = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Task> tasks = postings.get(gram);
+            if (tasks == null) {
+                return Collections.emptyList();
+            }
+            if (rarest == null || tasks.size() < rarest.size()) {
+                if (rarest != null) {
+                    others.add(rarest);
+                }
+                rarest = tasks;
+            } else {
+                others.add(tasks);
+            }
+        }
+
+        List<Task> matchingTasks = new ArrayList<>();
+        for (Task task : rarest) {
+            if (containsAll(others, task) && task.getDescription().toLowerCase().contains(keyword)) {
+                matchingTasks.add(task);
+            }
+        }
+        matchingTasks.sort((a, b) -> Long.compare(sequence.get(a), sequence.get(b)));
+        return matchingTasks;
+    }
+
+    private static boolean containsAll(List<Set<Task>> postings, Task task) {
+        for (Set<Task> tasks : postings) {
+            if (!tasks.contains(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits text into its distinct overlapping fragments.
+     */
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,32 @@
+package baymax.tasklist;
+
+import baymax.task.Task;
+
+import java.util.Comparator;
+
+/**
+ * Represents the ways tasks can be sorted, along with the word that names each one.
+ * Tasks that compare equal keep the order they have in the list.
+ */
+public enum SortKey {
+    DATE("date", Comparator.comparing(DateIndex::getTime, Comparator.nullsLast(Comparator.naturalOrder()))),
+    TYPE("type", Comparator.comparing(Task::getType)),
+    DONE("done", Comparator.comparing(Task::isDone)),
+    DESCRIPTION("description", Comparator.comparing(Task::getDescription, String.CASE_INSENSITIVE_ORDER));
+
+    private final String word;
+    private final Comparator<Task> order;
+
+    SortKey(String word, Comparator<Task> order) {
+        this.word = word;
+        this.order = order;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public Comparator<Task> getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,130 @@
+package baymax.tasklist;
+
+import baymax.task.Task;
+
+import java.util.List;
+
+/**
+ * Stores a single change made to the task list for the undo and redo features.
+ * Only the affected task is remembered, rather than a copy of the whole list.
+ */
+public class TaskChange {
+    private final ChangeType type;
+    private final int index;
+    private final Task task;
+    private final boolean wasDone;
+    private final boolean isDone;
+    private final List<TaskChange> changes;
+
+    private TaskChange(ChangeType type, int index, Task task, boolean wasDone, boolean isDone,
+            List<TaskChange> changes) {
+        this.type = type;
+        this.index = index;
+        this.task = task;
+        this.wasDone = wasDone;
+        this.isDone = isDone;
+        this.changes = changes;
+    }
+
+    /**
+     * Creates a change for a task that was added to the list.
+     *
+     * @param index The index the task was added at.
+     * @param task The task that was added.
+     * @return The change.
+     */
+    public static TaskChange added(int index, Task task) {
+        return new TaskChange(ChangeType.ADD, index, task, task.isDone(), task.isDone(), null);
+    }
+
+    /**
+     * Creates a change for a task that was deleted from the list.
+     *
+     * @param index The index the task was deleted from.
+     * @param task The task that was deleted.
+     * @return The change.
+     */
+    public static TaskChange deleted(int index, Task task) {
+        return new TaskChange(ChangeType.DELETE, index, task, task.isDone(), task.isDone(), null);
+    }
+
+    /**
+     * Creates a change for a task that was marked as done or not done.
+     *
+     * @param index The index of the task in the list.
+     * @param task The task that was marked.
+     * @param wasDone The previous completion status of the task.
+     * @param isDone The new completion status of the task.
+     * @return The change.
+     */
+    public static TaskChange marked(int index, Task task, boolean wasDone, boolean isDone) {
+        return new TaskChange(ChangeType.MARK, index, task, wasDone, isDone, null);
+    }
+
+    /**
+     * Creates a change for a task that was marked by its id, without knowing its position.
+     * Such changes are undone and redone by id, so their index is -1.
+     *
+     * @param task The task that was marked.
+     * @param wasDone The previous completion status of the task.
+     * @param isDone The new completion status of the task.
+     * @return The change.
+     */
+    public static TaskChange markedById(Task task, boolean wasDone, boolean isDone) {
+        return new TaskChange(ChangeType.MARK, -1, task, wasDone, isDone, null);
+    }
+
+    /**
+     * Creates a change made up of several changes that are undone and redone together.
+     *
+     * @param changes The changes, in the order they were made.
+     * @return The change.
+     */
+    public static TaskChange batch(List<TaskChange> changes) {
+        return new TaskChange(ChangeType.BATCH, -1, null, false, false, changes);
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the index of the affected task in the list.
+     *
+     * @return The task index, or -1 if the task was marked by its id.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Gets the completion status of the task before a mark change.
+     *
+     * @return True if the task was done, false otherwise.
+     */
+    public boolean wasDone() {
+        return wasDone;
+    }
+
+    /**
+     * Gets the completion status of the task after a mark change.
+     *
+     * @return True if the task is done, false otherwise.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * Gets the changes that make up a batch change.
+     *
+     * @return The changes, in the order they were made.
+     */
+    public List<TaskChange> getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,61 @@
+package baymax.tasklist;
+
+import baymax.task.Task;
+import baymax.task.TaskType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
+/**
+ * Picks out the tasks that meet every given condition.
+ * Conditions that are not given do not filter anything out.
+ */
+public class TaskFilter implements Predicate<Task> {
+
+    private final TaskType type;
+    private final Boolean isDone;
+    private final LocalDate before;
+    private final LocalDate after;
+
+    /**
+     * Constructs a TaskFilter.
+     *
+     * @param type The type tasks must have, or null for any type.
+     * @param isDone Whether tasks must be done, or null for either.
+     * @param before The date deadlines and events must be before, or null for any date.
+     * @param after The date deadlines and events must be after, or null for any date.
+     */
+    public TaskFilter(TaskType type, Boolean isDone, LocalDate before, LocalDate after) {
+        this.type = type;
+        this.isDone = isDone;
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * Checks whether a task meets every condition.
+     * A todo has no date, so it never meets a condition on the date.
+     *
+     * @param task The task to check.
+     * @return True if the task meets every condition.
+     */
+    @Override
+    public boolean test(Task task) {
+        if (type != null && task.getType() != type) {
+            return false;
+        }
+        if (isDone != null && task.isDone() != isDone) {
+            return false;
+        }
+        if (before == null && after == null) {
+            return true;
+        }
+        LocalDateTime time = DateIndex.getTime(task);
+        if (time == null) {
+            return false;
+        }
+        return (before == null || time.isBefore(before.atStartOfDay()))
+                && (after == null || !time.isBefore(after.plusDays(1).atStartOfDay()));
+    }
+}
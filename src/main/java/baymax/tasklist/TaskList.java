@@ -10,25 +10,53 @@ import baymax.storage.Storage;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * Manages a list of tasks and provides methods to modify and retrieve tasks.
+ *
+ * A task list can be shared between threads. Commands that only read the list, such as
+ * listing and finding tasks, run at the same time as each other, while each change and
+ * each undo or redo runs on its own, so task numbers always refer to the list as it was
+ * when the command started. A transaction collects the changes of every thread until it
+ * is committed, so it should only be used while a single thread has the list.
  */
 public class TaskList {
 
-    private ArrayList<Task> tasks;
-    // A stack to store previous states
-    private Stack<ArrayList<Task>> history;
-    // A stack to store the state of tasks modified by markTask()
-    private Stack<TaskState> taskStateHistory = new Stack<>();
+    private List<Task> tasks;
+    // Whether tasks are kept in a CompactTaskStore, which leaves out the indexes below
+    private final boolean isCompact;
+    // The most recent changes, in the order they were made
+    private UndoLog undoLog;
+    // The changes made since the current transaction began, or null outside a transaction
+    private List<TaskChange> transaction;
+    // Whether storage updates are held back until a transaction or batch undo finishes
+    private boolean isSavingDeferred;
+    private boolean hasUnsavedChanges;
+    private KeywordIndex keywordIndex = new KeywordIndex();
+    private DateIndex dateIndex = new DateIndex();
+    // Every task in the list by its id, for looking tasks up without knowing their position
+    private final Map<Long, Task> tasksById = new HashMap<>();
+    private long nextId = 1;
     private Storage storage;
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm");
+    // Lets any number of commands read the list at once, while changes wait for exclusive access
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    public static final int DEFAULT_HISTORY_LIMIT = 100;
+    // Lists smaller than this are sorted and filtered on one thread, since splitting the work costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 10_000;
 
     /**
      * Constructs a TaskList with storage integration.
@@ -36,10 +64,48 @@ public class TaskList {
      * @param storage The storage system to save and load tasks.
      */
     public TaskList(Storage storage) {
+        this(storage, DEFAULT_HISTORY_LIMIT);
+    }
+
+    /**
+     * Constructs a TaskList with storage integration and a limit on how many changes can be undone.
+     *
+     * @param storage The storage system to save and load tasks.
+     * @param historyLimit The maximum number of changes remembered for undo and redo.
+     */
+    public TaskList(Storage storage, int historyLimit) {
+        this(storage, historyLimit, false);
+    }
+
+    /**
+     * Constructs a TaskList with storage integration, a limit on how many changes can be undone,
+     * and a choice of how tasks are kept in memory.
+     *
+     * Compact task lists keep tasks as columns of primitive values, using a small fraction of the
+     * memory of task objects. They have no keyword, date or id indexes, so finding tasks checks
+     * every task, and each task is rebuilt whenever it is read.
+     *
+     * @param storage The storage system to save and load tasks.
+     * @param historyLimit The maximum number of changes remembered for undo and redo.
+     * @param isCompact Whether tasks are kept in compact columns instead of as task objects.
+     */
+    public TaskList(Storage storage, int historyLimit, boolean isCompact) {
         this.storage = storage;
-        this.tasks = new ArrayList<>(loadTasksFromStorage());
-        this.history = new Stack<>();
-        this.taskStateHistory = new Stack<>();
+        this.isCompact = isCompact;
+        // Compact lists are loaded straight into the store, without a list of task objects in between
+        this.tasks = loadTasksFromStorage(isCompact ? new CompactTaskStore(List.of()) : new ArrayList<>());
+        if (this.storage != null) {
+            nextId = Math.max(nextId, this.storage.getNextId());
+        }
+        assignIds();
+        if (!isCompact) {
+            for (Task task : tasks) {
+                tasksById.put(task.getId(), task);
+            }
+            this.keywordIndex.rebuild(tasks);
+            this.dateIndex.rebuild(tasks);
+        }
+        this.undoLog = new UndoLog(historyLimit);
     }
 
     /**
@@ -47,21 +113,84 @@ public class TaskList {
      */
     public TaskList() {
         this.tasks = new ArrayList<>();
-        this.history = new Stack<>();
-        this.taskStateHistory = new Stack<>();
+        this.isCompact = false;
+        this.undoLog = new UndoLog(DEFAULT_HISTORY_LIMIT);
     }
 
     /**
-     * Loads tasks from storage.
+     * Makes sure every loaded task has its own id. Tasks saved before ids were introduced,
+     * or whose id is already taken, are given new ids after the highest id ever given out.
+     * Compact lists have their ids changed in place, without rebuilding their tasks.
+     */
+    private void assignIds() {
+        for (int i = 0; i < tasks.size(); i++) {
+            nextId = Math.max(nextId, getId(i) + 1);
+        }
+        Set<Long> usedIds = new HashSet<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            long id = getId(i);
+            if (id == 0 || !usedIds.add(id)) {
+                id = nextId++;
+                usedIds.add(id);
+                if (isCompact) {
+                    ((CompactTaskStore) tasks).setId(i, id);
+                } else {
+                    tasks.get(i).setId(id);
+                }
+            }
+        }
+        if (storage != null) {
+            storage.setNextId(nextId);
+        }
+    }
+
+    /**
+     * Gets the id of the task at the given index, without building it in compact lists.
+     */
+    private long getId(int index) {
+        return isCompact ? ((CompactTaskStore) tasks).getId(index) : tasks.get(index).getId();
+    }
+
+    /**
+     * Loads tasks from storage. If they cannot be loaded, the list starts empty and is not saved.
      *
-     * @return A list of previously added tasks.
+     * @param loadedTasks The empty list to load the tasks into.
+     * @return The list of previously added tasks.
      */
-    private ArrayList<Task> loadTasksFromStorage() {
+    private List<Task> loadTasksFromStorage(List<Task> loadedTasks) {
+        if (storage == null) {
+            return loadedTasks;
+        }
         try {
-            return new ArrayList<>(storage.loadTasks());
+            return storage.loadTasks(loadedTasks);
         } catch (Exception e) {
-            System.out.println("Error loading tasks: " + e.getMessage());
-            return new ArrayList<>();
+            // Saving the empty list would overwrite the tasks that could not be loaded
+            System.out.println("Error loading tasks: " + e.getMessage()
+                    + "\nChanges will not be saved, so your task file is left as it is.");
+            storage.close();
+            storage = null;
+            loadedTasks.clear();
+            return loadedTasks;
+        }
+    }
+
+    /**
+     * Adds a task to the end of the list.
+     *
+     * @param task The task to add.
+     * @return The confirmation message.
+     */
+    public String addTask(Task task) {
+        assert task != null : "Task cannot be null";
+
+        lock.writeLock().lock();
+        try {
+            insertTask(tasks.size(), task);
+            assert tasks.get(tasks.size() - 1).getId() == task.getId() : "Task was not added successfully";
+            recordChange(TaskChange.added(tasks.size() - 1, task));
+            return "I have added the task #" + task.getId() + ":\n  " + task + "\nNow you have " + tasks.size() + " tasks in the list.";
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
@@ -73,25 +202,7 @@ public class TaskList {
      */
     public String addTodo(String input) throws BaymaxException {
         assert input != null : "Input cannot be null";
-
-        if (input.trim().equals("todo")) {
-            throw new BaymaxException("Please give me a description of your todo task!");
-        }
-
-        try {
-            String description = input.substring(5).trim();
-            if (description.isEmpty()) {
-                throw new BaymaxException("Please give me a description of your todo task!");
-            }
-            saveState();
-            Task todo = new Todo(description);
-            tasks.add(todo);
-            assert tasks.contains(todo) : "Task was not added successfully";
-            saveTasks();
-            return "I have added the task:\n  " + todo + "\nNow you have " + tasks.size() + " tasks in the list.";
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new BaymaxException("Please use this format: todo [description]");
-        }
+        return addTask(Todo.parse(input.substring("todo".length())));
     }
 
     /**
@@ -102,35 +213,7 @@ public class TaskList {
      */
     public String addDeadline(String input) throws BaymaxException {
         assert input != null : "Input cannot be null";
-
-        if (input.trim().equals("deadline")) {
-            throw new BaymaxException("Please give me a description of your deadline task!");
-        }
-
-        try {
-            String description = input.substring(9).trim();
-            if (description.isEmpty()) {
-                throw new BaymaxException("Please give me a description of your deadline task!");
-            }
-
-            String[] parts = description.split(" /by ", 2);
-            if (parts.length < 2 || parts[1].trim().isEmpty()) {
-                throw new BaymaxException("Please use this format: deadline [description] /by [yyyy-MM-dd HHmm]");
-            }
-
-            saveState();
-            LocalDateTime deadline = LocalDateTime.parse(parts[1], DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"));
-            Task deadlineTask = new Deadline(parts[0], parts[1]);
-            tasks.add(deadlineTask);
-            assert tasks.contains(deadlineTask) : "Task was not added successfully";
-            saveTasks();
-            return "I have added the task:\n  " + deadlineTask + "\nNow you have " + tasks.size() + " tasks in the list.";
-
-        } catch (DateTimeParseException e) {
-            throw new BaymaxException("Please use this format: deadline [description] /by [yyyy-MM-dd HHmm]");
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new BaymaxException("Please use this format: deadline [description] /by [yyyy-MM-dd HHmm]");
-        }
+        return addTask(Deadline.parse(input.substring("deadline".length())));
     }
 
     /**
@@ -141,95 +224,300 @@ public class TaskList {
      */
     public String addEvent(String input) throws BaymaxException {
         assert input != null : "Input cannot be null";
+        return addTask(Event.parse(input.substring("event".length())));
+    }
 
-        if (input.trim().equals("event")) {  // Check if only "event" is provided
-            throw new BaymaxException("Please give me a description of your event task!");
+    /**
+     * Deletes a task from the list.
+     *
+     * @param index The index of the task to delete.
+     * @throws BaymaxException If the index is out of range.
+     */
+    public String deleteTask(int index) throws BaymaxException {
+        lock.writeLock().lock();
+        try {
+            if (index < 0 || index >= tasks.size()) {
+                throw new BaymaxException("There are only " + tasks.size() + " total tasks!");
+            }
+            Task removedTask = removeTask(index);
+            recordChange(TaskChange.deleted(index, removedTask));
+            return "I have removed the task:\n  " + removedTask + "\nNow you have " + tasks.size() + " tasks in the list.";
+        } finally {
+            lock.writeLock().unlock();
         }
+    }
 
+    /**
+     * Marks a task as done or not done.
+     *
+     * @param index The index of the task.
+     * @param isDone True if marking as done, false if unmarking.
+     * @throws BaymaxException If the index is out of range.
+     */
+    public String markTask(int index, boolean isDone) throws BaymaxException {
+        lock.writeLock().lock();
         try {
-            String description = input.substring(6).trim();
-            if (description.isEmpty()) {
-                throw new BaymaxException("Please give me a description of your event task!");
+            if (index < 0 || index >= tasks.size()) {
+                throw new BaymaxException("There are only " + tasks.size() + " total tasks!");
             }
+            Task task = tasks.get(index);
+            recordChange(TaskChange.marked(index, task, task.isDone(), isDone));
+            setDone(index, task, isDone);
+            recordMark(index, task, isDone);
+            return isDone ? "Good job on completing this task:\n  " + task
+                    : "Oh seems like you have not completed this task:\n  " + task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
 
-            String[] parts = description.split(" /on | /from | /to ", 4);
-            if (parts.length < 4 || parts[1].trim().isEmpty() || parts[2].trim().isEmpty() || parts[3].trim().isEmpty()) {
-                throw new BaymaxException("Please use this format: event [description] /on [yyyy-MM-dd] /from [HHmm] /to [HHmm]");
+    /**
+     * Finds the task with the given id.
+     *
+     * @param id The id of the task.
+     * @return A copy of the task, or null if no task in the list has that id.
+     */
+    public Task getTask(long id) {
+        lock.readLock().lock();
+        try {
+            if (isCompact) {
+                int index = ((CompactTaskStore) tasks).indexOfId(id);
+                return index < 0 ? null : tasks.get(index);
             }
+            Task task = tasksById.get(id);
+            return task == null ? null : task.copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-            saveState();
-            LocalDate date = LocalDate.parse(parts[1], DATE_FORMAT);
-            LocalTime fromTime = LocalTime.parse(parts[2], TIME_FORMAT);
-            LocalTime toTime = LocalTime.parse(parts[3], TIME_FORMAT);
+    /**
+     * Deletes the task with the given id.
+     *
+     * @param id The id of the task to delete.
+     * @throws BaymaxException If no task in the list has that id.
+     */
+    public String deleteTaskById(long id) throws BaymaxException {
+        lock.writeLock().lock();
+        try {
+            return deleteTask(indexOfId(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
 
-            if (fromTime.isAfter(toTime)) {
-                throw new BaymaxException("Hey your start time must be before end time.");
+    /**
+     * Marks the task with the given id as done or not done.
+     *
+     * @param id The id of the task.
+     * @param isDone True if marking as done, false if unmarking.
+     * @throws BaymaxException If no task in the list has that id.
+     */
+    public String markTaskById(long id, boolean isDone) throws BaymaxException {
+        lock.writeLock().lock();
+        try {
+            if (isCompact) {
+                return markTask(indexOfId(id), isDone);
             }
+            // Marking does not move the task, so its position is never needed
+            Task task = tasksById.get(id);
+            if (task == null) {
+                throw new BaymaxException("There is no task #" + id + "!");
+            }
+            recordChange(TaskChange.markedById(task, task.isDone(), isDone));
+            task.setDone(isDone);
+            recordMark(-1, task, isDone);
+            return isDone ? "Good job on completing this task:\n  " + task
+                    : "Oh seems like you have not completed this task:\n  " + task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
 
-            Task event = new Event(parts[0], date.toString(), fromTime.toString(), toTime.toString());
-            tasks.add(event);
-            assert tasks.contains(event) : "Task was not added successfully";
-            saveTasks();
-            return "I have added the task:\n  " + event + "\nNow you have " + tasks.size() + " tasks in the list.";
-
-        } catch (DateTimeParseException e) {
-            throw new BaymaxException("Please use this format: event [description] /on [yyyy-MM-dd] /from [HHmm] /to [HHmm]");
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new BaymaxException("Please use this format: event [description] /on [yyyy-MM-dd] /from [HHmm] /to [HHmm]");
+    /**
+     * Finds the current position of the task with the given id.
+     * This takes time linear in the size of the list, since positions shift with every insert
+     * and delete and so are not indexed. The task itself is found by id, so only a reference
+     * comparison is needed per task. Marking by id does not need the position, so only
+     * deleting by id and compact lists pay for this.
+     */
+    private int indexOfId(long id) throws BaymaxException {
+        Task task = isCompact ? null : tasksById.get(id);
+        int index = isCompact ? ((CompactTaskStore) tasks).indexOfId(id) : tasks.indexOf(task);
+        if (index < 0) {
+            throw new BaymaxException("There is no task #" + id + "!");
         }
+        return index;
     }
 
     /**
-     * Deletes a task from the list.
+     * Deletes every selected task in a single pass over the list.
+     * The tasks are saved once, and a single undo restores all of them.
      *
-     * @param index The index of the task to delete.
-     * @throws BaymaxException If the index is out of range.
+     * @param selector The tasks to delete.
+     * @return The confirmation message.
+     * @throws BaymaxException If a task number is past the end of the list.
      */
-    public String deleteTask(int index) throws BaymaxException {
-        if (index < 0 || index >= tasks.size()) {
-            throw new BaymaxException("There are only " + tasks.size() + " total tasks!");
+    public String deleteTasks(TaskSelector selector) throws BaymaxException {
+        lock.writeLock().lock();
+        try {
+            BitSet selected = selector.select(tasks);
+            if (selected.isEmpty()) {
+                return "There aren't any matching tasks!";
+            }
+            recordChange(TaskChange.batch(removeTasks(selected)));
+            return "I have removed " + selected.cardinality() + " tasks.\nNow you have " + tasks.size()
+                    + " tasks in the list.";
+        } finally {
+            lock.writeLock().unlock();
         }
-        saveState();
-        Task removedTask = tasks.remove(index);
-        saveTasks();
-        return "I have removed the task:\n  " + removedTask + "\nNow you have " + tasks.size() + " tasks in the list.";
     }
 
     /**
-     * Marks a task as done or not done.
+     * Marks every selected task as done or not done.
+     * The tasks are saved once, and a single undo restores all of them.
      *
-     * @param index The index of the task.
+     * @param selector The tasks to mark.
      * @param isDone True if marking as done, false if unmarking.
-     * @throws BaymaxException If the index is out of range.
+     * @return The confirmation message.
+     * @throws BaymaxException If a task number is past the end of the list.
      */
-    public String markTask(int index, boolean isDone) throws BaymaxException {
-        if (index < 0 || index >= tasks.size()) {
-            throw new BaymaxException("There are only " + tasks.size() + " total tasks!");
-        }
-        Task task = tasks.get(index);
-        taskStateHistory.push(new TaskState(index, task.isDone()));
-        if (isDone) {
-            task.markAsDone();
-        } else {
-            task.markAsNotDone();
+    public String markTasks(TaskSelector selector, boolean isDone) throws BaymaxException {
+        lock.writeLock().lock();
+        try {
+            BitSet selected = selector.select(tasks);
+            if (selected.isEmpty()) {
+                return "There aren't any matching tasks!";
+            }
+            List<TaskChange> changes = new ArrayList<>(selected.cardinality());
+            for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+                Task task = tasks.get(i);
+                changes.add(TaskChange.marked(i, task, task.isDone(), isDone));
+                setDone(i, task, isDone);
+            }
+            recordChange(TaskChange.batch(changes));
+            saveAll();
+            return isDone ? "Good job on completing " + changes.size() + " tasks!"
+                    : "Oh seems like you have not completed " + changes.size() + " tasks.";
+        } finally {
+            lock.writeLock().unlock();
         }
-        saveTasks();
-        return isDone ? "Good job on completing this task:\n  " + task
-                : "Oh seems like you have not completed this task:\n  " + task;
     }
 
     /**
      * Displays the list of tasks.
      */
     public String listTasks() {
-        if (tasks.isEmpty()) {
-            return "You have no tasks in your list!";
+        lock.readLock().lock();
+        try {
+            if (tasks.isEmpty()) {
+                return "You have no tasks in your list!";
+            }
+            StringBuilder sb = new StringBuilder("Here are all your tasks:");
+            appendTasks(sb, 0, tasks.size());
+            return sb.toString();
+        } finally {
+            lock.readLock().unlock();
         }
-        StringBuilder sb = new StringBuilder("Here are all your tasks:\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            sb.append((i + 1)).append(". ").append(tasks.get(i)).append("\n");
+    }
+
+    /**
+     * Displays one page of the list of tasks.
+     * Only the tasks on the page are formatted, so the cost does not depend on the size of the list.
+     *
+     * @param offset The number of tasks to skip.
+     * @param limit The maximum number of tasks to show.
+     * @throws BaymaxException If the offset is past the end of the list.
+     */
+    public String listTasks(int offset, int limit) throws BaymaxException {
+        assert offset >= 0 && limit > 0 : "Offset cannot be negative and limit must be positive";
+        lock.readLock().lock();
+        try {
+            if (tasks.isEmpty()) {
+                return "You have no tasks in your list!";
+            }
+            if (offset >= tasks.size()) {
+                throw new BaymaxException("There are only " + tasks.size() + " total tasks!");
+            }
+            int end = (int) Math.min(tasks.size(), (long) offset + limit);
+            StringBuilder sb = new StringBuilder("Here are your tasks ")
+                    .append(offset + 1).append(" to ").append(end).append(" of ").append(tasks.size()).append(":");
+            appendTasks(sb, offset, end);
+            return sb.toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorts the tasks without changing the list.
+     * Large lists are sorted on several threads.
+     *
+     * @param key What to sort the tasks by.
+     * @return The sorted tasks.
+     */
+    public TaskView sortTasks(SortKey key) {
+        // Every task ends up in the view, so compact lists build all of them, but outside the lock
+        List<Task> snapshot = Arrays.asList(snapshotTasks().toArray(new Task[0]));
+        Comparator<Integer> order = Comparator.comparing(snapshot::get, key.getOrder());
+        int[] positions = positionsOf(snapshot).boxed().sorted(order).mapToInt(Integer::intValue).toArray();
+        return createView("tasks sorted by " + key.getWord(), snapshot, positions);
+    }
+
+    /**
+     * Finds the tasks meeting a condition, in the order they have in the list.
+     * Large lists are checked on several threads.
+     *
+     * @param condition The condition tasks must meet.
+     * @return The matching tasks.
+     */
+    public TaskView filterTasks(Predicate<Task> condition) {
+        // Compact lists build each task as it is checked, so tasks that do not match are never kept
+        List<Task> snapshot = snapshotTasks();
+        int[] positions = positionsOf(snapshot).filter(i -> condition.test(snapshot.get(i))).toArray();
+        return createView("matching tasks", snapshot, positions);
+    }
+
+    /**
+     * Copies the tasks, so that they can be sorted or filtered without holding the lock.
+     * Compact lists copy their columns, and their tasks are only built when read from the copy.
+     */
+    private List<Task> snapshotTasks() {
+        lock.readLock().lock();
+        try {
+            return isCompact ? ((CompactTaskStore) tasks).copy() : Arrays.asList(tasks.toArray(new Task[0]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Streams the index of every task in a snapshot, on several threads if there are enough tasks.
+     */
+    private static IntStream positionsOf(List<Task> snapshot) {
+        IntStream positions = IntStream.range(0, snapshot.size());
+        return snapshot.size() < PARALLEL_THRESHOLD ? positions : positions.parallel();
+    }
+
+    private static TaskView createView(String title, List<Task> snapshot, int[] positions) {
+        Task[] viewTasks = new Task[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            viewTasks[i] = snapshot.get(positions[i]);
+        }
+        return new TaskView(title, viewTasks, positions);
+    }
+
+    /**
+     * Appends the numbered tasks between two indexes, each on a new line.
+     *
+     * @param sb The builder to append to.
+     * @param start The index of the first task, inclusive.
+     * @param end The index of the last task, exclusive.
+     */
+    private void appendTasks(StringBuilder sb, int start, int end) {
+        for (int i = start; i < end; i++) {
+            sb.append("\n").append(i + 1).append(". ").append(tasks.get(i));
         }
-        return sb.toString().trim();
     }
 
     /**
@@ -238,36 +526,323 @@ public class TaskList {
      * @return True if the list is empty, false otherwise.
      */
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        lock.readLock().lock();
+        try {
+            return tasks.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tasks in the list, without copying them.
+     *
+     * @return The number of tasks.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
-     * Retrieves the list of tasks.
+     * Retrieves a copy of the list of tasks, which later changes to the task list do not affect.
+     * Compact lists copy their columns instead, and build each task when it is read from the copy.
      *
-     * @return The list of tasks.
+     * @return The list of tasks, which cannot be changed.
      */
-    public ArrayList<Task> getTasks() {
-        return tasks;
+    public List<Task> getTasks() {
+        lock.readLock().lock();
+        try {
+            if (isCompact) {
+                return Collections.unmodifiableList(((CompactTaskStore) tasks).copy());
+            }
+            return List.copyOf(tasks);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
      * Prints the list of tasks to the console.
      */
     public void printTasks() {
-        for (int i = 0; i < tasks.size(); i++) {
-            System.out.println(" " + (i + 1) + ". " + tasks.get(i));
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                System.out.println(" " + (i + 1) + ". " + tasks.get(i));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts a task into the list, keeping the indexes and storage up to date.
+     *
+     * @param index The index to insert the task at.
+     * @param task The task to insert.
+     */
+    private void insertTask(int index, Task task) {
+        if (task.getId() == 0) {
+            task.setId(nextId++);
+            if (storage != null) {
+                storage.setNextId(nextId);
+            }
+        }
+        tasks.add(index, task);
+        if (!isCompact) {
+            Task previous = index > 0 ? tasks.get(index - 1) : null;
+            Task next = index < tasks.size() - 1 ? tasks.get(index + 1) : null;
+            tasksById.put(task.getId(), task);
+            keywordIndex.insert(task, previous, next);
+            dateIndex.add(task);
+        }
+        recordAdd(index, task);
+    }
+
+    /**
+     * Removes a task from the list, keeping the indexes and storage up to date.
+     *
+     * @param index The index of the task to remove.
+     * @return The removed task.
+     */
+    private Task removeTask(int index) {
+        Task task = tasks.remove(index);
+        if (!isCompact) {
+            tasksById.remove(task.getId());
+            keywordIndex.remove(task);
+            dateIndex.remove(task);
+        }
+        recordDelete(index);
+        return task;
+    }
+
+    /**
+     * Removes the selected tasks, moving every remaining task at most once.
+     *
+     * @param selected The indexes of the tasks to remove.
+     * @return The deletions, from the last index to the first, so that each index
+     *         is still correct when they are applied one at a time.
+     */
+    private List<TaskChange> removeTasks(BitSet selected) {
+        List<TaskChange> changes = new ArrayList<>(selected.cardinality());
+        for (int i = selected.previousSetBit(tasks.size() - 1); i >= 0; i = selected.previousSetBit(i - 1)) {
+            Task task = tasks.get(i);
+            if (!isCompact) {
+                tasksById.remove(task.getId());
+                keywordIndex.remove(task);
+                dateIndex.remove(task);
+            }
+            changes.add(TaskChange.deleted(i, task));
+        }
+        if (isCompact) {
+            ((CompactTaskStore) tasks).removeAll(selected);
+        } else {
+            int kept = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                if (!selected.get(i)) {
+                    tasks.set(kept++, tasks.get(i));
+                }
+            }
+            tasks.subList(kept, tasks.size()).clear();
+        }
+        saveAll();
+        return changes;
+    }
+
+    /**
+     * Puts deleted tasks back at their old indexes, moving every other task at most once.
+     *
+     * @param deletions The deletions to undo, from the last index to the first.
+     */
+    private void restoreTasks(List<TaskChange> deletions) {
+        List<Task> restored = isCompact
+                ? new CompactTaskStore(List.of())
+                : new ArrayList<>(tasks.size() + deletions.size());
+        int next = 0;
+        for (int i = deletions.size() - 1; i >= 0; i--) {
+            TaskChange deletion = deletions.get(i);
+            while (restored.size() < deletion.getIndex()) {
+                restored.add(tasks.get(next++));
+            }
+            restored.add(deletion.getTask());
+        }
+        restored.addAll(tasks.subList(next, tasks.size()));
+        tasks = restored;
+        if (!isCompact) {
+            for (TaskChange deletion : deletions) {
+                tasksById.put(deletion.getTask().getId(), deletion.getTask());
+                dateIndex.add(deletion.getTask());
+            }
+            keywordIndex.rebuild(tasks);
+        }
+        saveAll();
+    }
+
+    /**
+     * Checks whether a batch only deletes tasks from the last index to the first,
+     * which is how {@link #deleteTasks(TaskSelector)} records its changes.
+     */
+    private static boolean isBulkDeletion(List<TaskChange> changes) {
+        for (int i = 0; i < changes.size(); i++) {
+            TaskChange change = changes.get(i);
+            if (change.getType() != ChangeType.DELETE
+                    || (i > 0 && change.getIndex() >= changes.get(i - 1).getIndex())) {
+                return false;
+            }
+        }
+        return changes.size() > 1;
+    }
+
+    /**
+     * Marks a task as done or not done. Compact lists rebuild their tasks on each read,
+     * so the changed task is written back to the list.
+     *
+     * @param index The index of the task, which may be -1 if the list is not compact.
+     * @param task The task at that index.
+     * @param isDone The new completion status of the task.
+     */
+    private void setDone(int index, Task task, boolean isDone) {
+        task.setDone(isDone);
+        if (isCompact) {
+            tasks.set(index, task);
+        }
+    }
+
+    /**
+     * Saves the whole task list, or remembers to do so once saving is no longer deferred.
+     */
+    private void saveAll() {
+        if (storage == null) {
+            return;
+        }
+        if (isSavingDeferred) {
+            hasUnsavedChanges = true;
+            return;
+        }
+        try {
+            storage.saveTasks(tasks, this::copyTasksForSave);
+        } catch (IOException e) {
+            System.out.println("Error saving tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the tasks for a save in the background, so that later changes do not affect it.
+     * This runs on the background writer's thread, not on the thread making the change.
+     * Compact lists copy their columns, and each task is built as it is written.
+     */
+    private List<Task> copyTasksForSave() {
+        lock.readLock().lock();
+        try {
+            if (isCompact) {
+                return ((CompactTaskStore) tasks).copy();
+            }
+            List<Task> copies = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                copies.add(task.copy());
+            }
+            return copies;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until every change has been written to storage.
+     */
+    public void flush() {
+        if (storage != null) {
+            storage.flush();
+        }
+    }
+
+    /**
+     * Writes every change to storage and releases it.
+     * The task list should not be used afterwards.
+     */
+    public void close() {
+        Storage closed;
+        // Taking the storage under the write lock means no change can be made while it is handed over.
+        // It is closed after the lock is released, since the background writer needs a read lock to finish.
+        lock.writeLock().lock();
+        try {
+            closed = storage;
+            storage = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (closed != null) {
+            closed.close();
         }
     }
 
     /**
-     * Saves the task list to storage.
+     * Records the addition of a task in storage.
+     *
+     * @param index The index the task was added at.
+     * @param task The task that was added.
      */
-    private void saveTasks() {
+    private void recordAdd(int index, Task task) {
         if (storage == null) {
             return;
         }
+        if (isSavingDeferred) {
+            hasUnsavedChanges = true;
+            return;
+        }
         try {
-            storage.saveTasks(tasks);
+            storage.recordAdd(tasks, index, task);
+        } catch (IOException e) {
+            System.out.println("Error saving tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records the deletion of a task in storage.
+     *
+     * @param index The index of the deleted task.
+     */
+    private void recordDelete(int index) {
+        if (storage == null) {
+            return;
+        }
+        if (isSavingDeferred) {
+            hasUnsavedChanges = true;
+            return;
+        }
+        try {
+            storage.recordDelete(tasks, index);
+        } catch (IOException e) {
+            System.out.println("Error saving tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records a change in a task's completion status in storage.
+     *
+     * @param index The index of the task, or -1 to record the change by the task's id.
+     * @param task The task that was marked.
+     * @param isDone The new completion status of the task.
+     */
+    private void recordMark(int index, Task task, boolean isDone) {
+        if (storage == null) {
+            return;
+        }
+        if (isSavingDeferred) {
+            hasUnsavedChanges = true;
+            return;
+        }
+        try {
+            if (index < 0) {
+                storage.recordMarkById(tasks, task.getId(), isDone);
+            } else {
+                storage.recordMark(tasks, index, isDone);
+            }
         } catch (IOException e) {
             System.out.println("Error saving tasks: " + e.getMessage());
         }
@@ -280,16 +855,108 @@ public class TaskList {
      * @return A string representation of the matching tasks.
      */
     public String findTask(String keyword) {
-        ArrayList<Task> matchingTasks = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            String lowerKeyword = keyword.toLowerCase();
+            List<Task> matchingTasks = !isCompact && keywordIndex.isSearchable(lowerKeyword)
+                    ? keywordIndex.search(lowerKeyword)
+                    : scanTasks(lowerKeyword);
+            return formatMatches("Here are all the matching tasks:\n", matchingTasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds deadlines and events due or happening on a date.
+     *
+     * @param date The date to look up.
+     * @return A string representation of the tasks on that date.
+     */
+    public String findDue(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            LocalDateTime end = date.plusDays(1).atStartOfDay();
+            List<Task> matchingTasks = indexDates(date.atStartOfDay(), end).between(date.atStartOfDay(), end);
+            return formatMatches("Here are the tasks on " + date + ":\n", matchingTasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds deadlines and events due or happening between two dates, earliest first.
+     *
+     * @param from The first date, inclusive.
+     * @param to The last date, inclusive.
+     * @return A string representation of the tasks between the dates.
+     * @throws BaymaxException If the last date is before the first date.
+     */
+    public String findBetween(LocalDate from, LocalDate to) throws BaymaxException {
+        lock.readLock().lock();
+        try {
+            if (to.isBefore(from)) {
+                throw new BaymaxException("Hey your first date must be before the second date.");
+            }
+            LocalDateTime end = to.plusDays(1).atStartOfDay();
+            List<Task> matchingTasks = indexDates(from.atStartOfDay(), end).between(from.atStartOfDay(), end);
+            return formatMatches("Here are the tasks from " + from + " to " + to + ":\n", matchingTasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the next deadlines and events from now, earliest first.
+     *
+     * @param count The maximum number of tasks to show.
+     * @return A string representation of the upcoming tasks.
+     */
+    public String findUpcoming(int count) {
+        lock.readLock().lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Task> matchingTasks = indexDates(now, LocalDateTime.MAX).upcoming(now, count);
+            return formatMatches("Here are your upcoming tasks:\n", matchingTasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets an index of the tasks due or starting within a time range. Compact lists have no
+     * date index, so one is built for the tasks in the range by checking every task.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, exclusive.
+     * @return An index containing at least the tasks in the range.
+     */
+    private DateIndex indexDates(LocalDateTime from, LocalDateTime to) {
+        if (!isCompact) {
+            return dateIndex;
+        }
+        DateIndex matches = new DateIndex();
         for (Task task : tasks) {
-            if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
-                matchingTasks.add(task);
+            LocalDateTime time = DateIndex.getTime(task);
+            if (time != null && !time.isBefore(from) && time.isBefore(to)) {
+                matches.add(task);
             }
         }
+        return matches;
+    }
+
+    /**
+     * Formats tasks found by a search as a numbered list.
+     *
+     * @param header The line to show before the tasks.
+     * @param matchingTasks The tasks found.
+     * @return The numbered list, or a message saying nothing was found.
+     */
+    private String formatMatches(String header, List<Task> matchingTasks) {
         if (matchingTasks.isEmpty()) {
             return "There aren't any matching tasks!";
         }
-        StringBuilder response = new StringBuilder("Here are all the matching tasks:\n");
+        StringBuilder response = new StringBuilder(header);
         for (int i = 0; i < matchingTasks.size(); i++) {
             response.append((i + 1)).append(". ").append(matchingTasks.get(i)).append("\n");
         }
@@ -297,35 +964,240 @@ public class TaskList {
     }
 
     /**
-     * Saves the current state before making any modifications.
+     * Finds tasks containing a keyword by checking every task.
+     * Used for keywords too short to look up in the keyword index.
+     *
+     * @param keyword The lowercase keyword to search for.
+     * @return The matching tasks.
      */
-    private void saveState() {
-        history.push(new ArrayList<>(tasks)); // Save a copy of the current task list
+    private List<Task> scanTasks(String keyword) {
+        List<Task> matchingTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getDescription().toLowerCase().contains(keyword)) {
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
     }
 
     /**
-     * Undoes the last modification made to the task list.
+     * Remembers a change so that it can be undone, either on its own or as part of the current transaction.
      *
-     * This method restores the previous state of the most recent change.
-     * It prioritizes restoring the task completion status (for mark/unmark actions).
-     * If no task completion change is available, it reverts the most recent list modification
-     * (such as adding or deleting a task).
+     * @param change The change that was made.
+     */
+    private void recordChange(TaskChange change) {
+        if (transaction != null) {
+            transaction.add(change);
+        } else {
+            undoLog.record(change);
+        }
+    }
+
+    /**
+     * Starts a transaction.
+     * Changes made until the transaction is committed are undone together as a single
+     * command, and storage is only updated once when the transaction is committed.
+     */
+    public void beginTransaction() {
+        lock.writeLock().lock();
+        try {
+            assert transaction == null : "A transaction has already begun";
+            transaction = new ArrayList<>();
+            deferSaving();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a transaction has begun and not yet been committed.
+     *
+     * @return True if a transaction is in progress.
+     */
+    public boolean isInTransaction() {
+        lock.readLock().lock();
+        try {
+            return transaction != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ends the current transaction, remembering its changes as one undoable command
+     * and saving the task list once if anything changed.
+     */
+    public void commitTransaction() {
+        lock.writeLock().lock();
+        try {
+            assert transaction != null : "No transaction has begun";
+            List<TaskChange> changes = transaction;
+            transaction = null;
+            if (!changes.isEmpty()) {
+                undoLog.record(TaskChange.batch(changes));
+            }
+            saveDeferredChanges();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Holds back storage updates until {@link #saveDeferredChanges()} is called.
+     */
+    private void deferSaving() {
+        isSavingDeferred = true;
+        hasUnsavedChanges = false;
+    }
+
+    /**
+     * Saves the whole task list once if anything changed while saving was deferred.
+     */
+    private void saveDeferredChanges() {
+        isSavingDeferred = false;
+        if (hasUnsavedChanges && storage != null) {
+            try {
+                storage.saveTasks(tasks, this::copyTasksForSave);
+            } catch (IOException e) {
+                System.out.println("Error saving tasks: " + e.getMessage());
+            }
+        }
+        hasUnsavedChanges = false;
+    }
+
+    /**
+     * Undoes the last change made to the task list that has not been undone yet.
+     * Changes are undone in the reverse order they were made, whether they
+     * marked, added or deleted a task. Within a transaction, only changes made
+     * in the transaction can be undone.
      *
      * @return A message indicating whether the undo operation was successful.
      */
     public String undo() {
-        if (!taskStateHistory.isEmpty()) {
-            TaskState lastState = taskStateHistory.pop();
-            Task task = tasks.get(lastState.getIndex());
-            task.setDone(lastState.getPreviousState()); // Restore task state
-            saveTasks();
-            return "Undo successful! The status of this task is reverted:\n  " + task;
-        }
-        if (!history.isEmpty()) {
-            tasks = history.pop();
-            saveTasks();
+        lock.writeLock().lock();
+        try {
+            TaskChange change;
+            if (transaction != null) {
+                change = transaction.isEmpty() ? null : transaction.remove(transaction.size() - 1);
+            } else {
+                change = undoLog.undo();
+            }
+            if (change == null) {
+                return "There is nothing to undo!";
+            }
+
+            revert(change);
+            if (change.getType() == ChangeType.MARK) {
+                return "Undo successful! The status of this task is reverted:\n  " + change.getTask();
+            }
             return "Undo successful! Your last command has been reverted.";
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Redoes the last change that was undone.
+     * Redo is no longer possible once a new change is made, or within a transaction.
+     *
+     * @return A message indicating whether the redo operation was successful.
+     */
+    public String redo() {
+        lock.writeLock().lock();
+        try {
+            TaskChange change = transaction == null ? undoLog.redo() : null;
+            if (change == null) {
+                return "There is nothing to redo!";
+            }
+
+            apply(change);
+            if (change.getType() == ChangeType.MARK) {
+                return "Redo successful! The status of this task is changed again:\n  " + change.getTask();
+            }
+            return "Redo successful! Your last undone command has been applied again.";
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reverts a change to the task list.
+     *
+     * @param change The change to revert.
+     */
+    private void revert(TaskChange change) {
+        switch (change.getType()) {
+        case ADD:
+            removeTask(change.getIndex());
+            break;
+        case DELETE:
+            insertTask(change.getIndex(), change.getTask());
+            break;
+        case MARK:
+            setDone(change.getIndex(), change.getTask(), change.wasDone()); // Restore task state
+            recordMark(change.getIndex(), change.getTask(), change.wasDone());
+            break;
+        case BATCH:
+            boolean isOutermost = !isSavingDeferred;
+            if (isOutermost) {
+                deferSaving();
+            }
+            List<TaskChange> changes = change.getChanges();
+            if (isBulkDeletion(changes)) {
+                restoreTasks(changes);
+            } else {
+                for (int i = changes.size() - 1; i >= 0; i--) {
+                    revert(changes.get(i));
+                }
+            }
+            if (isOutermost) {
+                saveDeferredChanges();
+            }
+            break;
+        default:
+            assert false : "Unknown change type: " + change.getType();
+        }
+    }
+
+    /**
+     * Applies a change to the task list again.
+     *
+     * @param change The change to apply.
+     */
+    private void apply(TaskChange change) {
+        switch (change.getType()) {
+        case ADD:
+            insertTask(change.getIndex(), change.getTask());
+            break;
+        case DELETE:
+            removeTask(change.getIndex());
+            break;
+        case MARK:
+            setDone(change.getIndex(), change.getTask(), change.isDone());
+            recordMark(change.getIndex(), change.getTask(), change.isDone());
+            break;
+        case BATCH:
+            boolean isOutermost = !isSavingDeferred;
+            if (isOutermost) {
+                deferSaving();
+            }
+            if (isBulkDeletion(change.getChanges())) {
+                BitSet selected = new BitSet(tasks.size());
+                for (TaskChange part : change.getChanges()) {
+                    selected.set(part.getIndex());
+                }
+                removeTasks(selected);
+            } else {
+                for (TaskChange part : change.getChanges()) {
+                    apply(part);
+                }
+            }
+            if (isOutermost) {
+                saveDeferredChanges();
+            }
+            break;
+        default:
+            assert false : "Unknown change type: " + change.getType();
         }
-        return "There is nothing to undo!";
     }
 }
@@ -0,0 +1,207 @@
+package baymax.tasklist;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * Keeps the named task lists that are currently in memory.
+ * A list is only loaded the first time it is used, and once more than the maximum
+ * number of lists are loaded, the idle ones used least recently are saved and unloaded.
+ *
+ * Each user of a list acquires it and releases it when done, and a list is idle while no one
+ * holds it. A list in use is never unloaded, so the limit may be passed for as long as more
+ * lists than that are in use at once.
+ */
+public class TaskListRegistry {
+
+    private final int maxLoaded;
+    private final Function<String, TaskList> loader;
+    // Access order puts the least recently used list first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Lists that have been unloaded but may still be saving, which must finish before they are loaded again
+    private final Map<String, Entry> closingEntries = new HashMap<>();
+
+    /**
+     * Holds one named list, which is loaded by the first user and closed once it is unloaded.
+     */
+    private static class Entry {
+        private final String name;
+        // The entry this one replaces, whose list may still be saving
+        private Entry previous;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        // The number of users holding the list
+        private int leases;
+        private volatile TaskList taskList;
+
+        Entry(String name, Entry previous) {
+            this.name = name;
+            this.previous = previous;
+        }
+
+        /**
+         * Returns the list, loading it first if needed.
+         * Only users of this entry wait for the load, so other lists stay available meanwhile.
+         */
+        synchronized TaskList open(Function<String, TaskList> loader) {
+            if (taskList == null) {
+                if (previous != null) {
+                    previous.awaitClosed();
+                    previous = null;
+                }
+                taskList = loader.apply(name);
+            }
+            return taskList;
+        }
+
+        /**
+         * Saves and releases the list, if it was loaded.
+         */
+        synchronized void close() {
+            try {
+                if (taskList != null) {
+                    taskList.close();
+                    taskList = null;
+                }
+            } finally {
+                closed.countDown();
+            }
+        }
+
+        private void awaitClosed() {
+            boolean isInterrupted = false;
+            while (true) {
+                try {
+                    closed.await();
+                    break;
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Constructs a TaskListRegistry.
+     *
+     * @param maxLoaded The largest number of idle lists kept in memory at once.
+     * @param loader Loads the list with the given name from its storage.
+     */
+    public TaskListRegistry(int maxLoaded, Function<String, TaskList> loader) {
+        assert maxLoaded > 0 : "At least one list must be kept in memory";
+        this.maxLoaded = maxLoaded;
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the list with the given name, loading it if it is not in memory.
+     * The list is not unloaded until it is released with {@link #release(String)}.
+     *
+     * @param name The name of the list.
+     * @return The list.
+     */
+    public TaskList acquire(String name) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(name);
+            if (entry == null) {
+                entry = new Entry(name, closingEntries.get(name));
+                entries.put(name, entry);
+            }
+            entry.leases++;
+        }
+
+        TaskList taskList;
+        try {
+            taskList = entry.open(loader);
+        } catch (RuntimeException e) {
+            release(name);
+            throw e;
+        }
+        unloadIdleLists();
+        return taskList;
+    }
+
+    /**
+     * Gives back a list acquired with {@link #acquire(String)}, so that it can be unloaded once idle.
+     *
+     * @param name The name of the list.
+     */
+    public void release(String name) {
+        synchronized (this) {
+            Entry entry = entries.get(name);
+            assert entry != null && entry.leases > 0 : "List was not acquired: " + name;
+            entry.leases--;
+        }
+        unloadIdleLists();
+    }
+
+    /**
+     * Unloads the idle lists used least recently until no more than the maximum are loaded.
+     * The lists are saved outside the registry's lock, so other lists can be used meanwhile.
+     */
+    private void unloadIdleLists() {
+        List<Entry> unloaded = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            int excess = entries.size() - maxLoaded;
+            while (excess > 0 && iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.leases == 0) {
+                    iterator.remove();
+                    closingEntries.put(entry.name, entry);
+                    unloaded.add(entry);
+                    excess--;
+                }
+            }
+        }
+
+        for (Entry entry : unloaded) {
+            entry.close();
+            synchronized (this) {
+                closingEntries.remove(entry.name, entry);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the list with the given name is in memory.
+     *
+     * @param name The name of the list.
+     * @return True if the list is loaded.
+     */
+    public synchronized boolean isLoaded(String name) {
+        // Looking the entry up with get() would count as using the list
+        for (Entry entry : entries.values()) {
+            if (entry.name.equals(name)) {
+                return entry.taskList != null;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits until every change to the lists in memory has been written to storage.
+     */
+    public void flush() {
+        List<TaskList> taskLists = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : entries.values()) {
+                if (entry.taskList != null) {
+                    taskLists.add(entry.taskList);
+                }
+            }
+        }
+        for (TaskList taskList : taskLists) {
+            taskList.flush();
+        }
+    }
+}
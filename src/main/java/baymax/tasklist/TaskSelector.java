@@ -0,0 +1,67 @@
+package baymax.tasklist;
+
+import baymax.exception.BaymaxException;
+import baymax.task.Task;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Picks out several tasks at once, either by task number or all tasks that are done.
+ * Task numbers are given as ranges, e.g. 3-900, or lists, e.g. 1,4,7, or a mix of both.
+ */
+public class TaskSelector {
+
+    // Pairs of zero-based start (inclusive) and end (exclusive) indexes, or null to select done tasks
+    private final int[] ranges;
+
+    private TaskSelector(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Creates a selector for every task that is done.
+     *
+     * @return The selector.
+     */
+    public static TaskSelector done() {
+        return new TaskSelector(null);
+    }
+
+    /**
+     * Creates a selector for ranges of task numbers.
+     *
+     * @param ranges Pairs of zero-based start (inclusive) and end (exclusive) indexes.
+     * @return The selector.
+     */
+    public static TaskSelector ofRanges(int[] ranges) {
+        assert ranges.length % 2 == 0 : "Ranges must come in pairs";
+        return new TaskSelector(ranges.clone());
+    }
+
+    /**
+     * Finds the indexes of the selected tasks.
+     *
+     * @param tasks The tasks to select from.
+     * @return The selected indexes.
+     * @throws BaymaxException If a task number is past the end of the list.
+     */
+    BitSet select(List<Task> tasks) throws BaymaxException {
+        BitSet selected = new BitSet(tasks.size());
+        if (ranges == null) {
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.get(i).isDone()) {
+                    selected.set(i);
+                }
+            }
+            return selected;
+        }
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i + 1] > tasks.size()) {
+                throw new BaymaxException("There are only " + tasks.size() + " total tasks!");
+            }
+            selected.set(ranges[i], ranges[i + 1]);
+        }
+        return selected;
+    }
+}
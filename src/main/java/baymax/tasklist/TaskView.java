@@ -0,0 +1,57 @@
+package baymax.tasklist;
+
+import baymax.exception.BaymaxException;
+import baymax.task.Task;
+
+/**
+ * Represents some of the tasks in a list, in a chosen order, as they were when the view was made.
+ * Each task is shown with its number in the list, so that it can still be marked or deleted by that number.
+ */
+public class TaskView {
+
+    private final String title;
+    private final Task[] tasks;
+    private final int[] positions;
+
+    /**
+     * Constructs a TaskView.
+     *
+     * @param title What the view shows, e.g. "tasks sorted by date".
+     * @param tasks The tasks in the view, in order.
+     * @param positions The zero-based index in the list of each task in the view.
+     */
+    TaskView(String title, Task[] tasks, int[] positions) {
+        assert tasks.length == positions.length : "Every task needs its index in the list";
+        this.title = title;
+        this.tasks = tasks;
+        this.positions = positions;
+    }
+
+    public int size() {
+        return tasks.length;
+    }
+
+    /**
+     * Displays one page of the view.
+     *
+     * @param offset The number of tasks to skip.
+     * @param limit The maximum number of tasks to show.
+     * @throws BaymaxException If the offset is past the end of the view.
+     */
+    public String listTasks(int offset, int limit) throws BaymaxException {
+        assert offset >= 0 && limit > 0 : "Offset cannot be negative and limit must be positive";
+        if (tasks.length == 0) {
+            return "There aren't any matching tasks!";
+        }
+        if (offset >= tasks.length) {
+            throw new BaymaxException("There are only " + tasks.length + " matching tasks!");
+        }
+        int end = (int) Math.min(tasks.length, (long) offset + limit);
+        StringBuilder sb = new StringBuilder("Here are your ").append(title).append(", ")
+                .append(offset + 1).append(" to ").append(end).append(" of ").append(tasks.length).append(":");
+        for (int i = offset; i < end; i++) {
+            sb.append("\n").append(positions[i] + 1).append(". ").append(tasks[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package baymax.tasklist;
+
+/**
+ * Keeps the most recent changes to the task list in the order they were made,
+ * so that they can be undone and redone.
+ *
+ * Changes are stored in a fixed-size ring buffer. Once it is full, recording a
+ * change forgets the oldest one, so memory use does not grow with the session.
+ */
+public class UndoLog {
+
+    private final TaskChange[] changes;
+    private int oldest;
+    // Number of changes stored, including undone changes that can still be redone
+    private int size;
+    // Number of stored changes that are currently applied and can be undone
+    private int applied;
+
+    /**
+     * Constructs an UndoLog.
+     *
+     * @param capacity The maximum number of changes remembered.
+     */
+    public UndoLog(int capacity) {
+        assert capacity >= 0 : "Undo log capacity cannot be negative";
+        this.changes = new TaskChange[capacity];
+    }
+
+    /**
+     * Records a new change.
+     * Changes that were undone can no longer be redone afterwards.
+     *
+     * @param change The change that was made.
+     */
+    public void record(TaskChange change) {
+        if (changes.length == 0) {
+            return;
+        }
+        for (int i = applied; i < size; i++) {
+            changes[slot(i)] = null;
+        }
+        size = applied;
+
+        if (size == changes.length) {
+            changes[oldest] = null;
+            oldest = slot(1);
+            size--;
+        }
+        changes[slot(size)] = change;
+        size++;
+        applied = size;
+    }
+
+    /**
+     * Takes the most recent applied change to undo.
+     *
+     * @return The change to revert, or null if there is nothing to undo.
+     */
+    public TaskChange undo() {
+        if (applied == 0) {
+            return null;
+        }
+        applied--;
+        return changes[slot(applied)];
+    }
+
+    /**
+     * Takes the most recently undone change to redo.
+     *
+     * @return The change to apply again, or null if there is nothing to redo.
+     */
+    public TaskChange redo() {
+        if (applied == size) {
+            return null;
+        }
+        TaskChange change = changes[slot(applied)];
+        applied++;
+        return change;
+    }
+
+    private int slot(int position) {
+        return (oldest + position) % changes.length;
+    }
+}
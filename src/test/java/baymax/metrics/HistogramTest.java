@@ -0,0 +1,32 @@
+package baymax.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistogramTest {
+
+    @Test
+    void getPercentile_uniformValues_withinBucketAccuracy() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_000, histogram.getPercentile(0.5), 500_000 * 0.07);
+        assertEquals(990_000, histogram.getPercentile(0.99), 990_000 * 0.07);
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test
+    void getPercentile_noValues_zeroReturned() {
+        assertEquals(0, new Histogram().getPercentile(0.99));
+    }
+
+    @Test
+    void bucketOf_smallValues_recordedExactly() {
+        for (int i = 0; i < 32; i++) {
+            assertEquals(i, Histogram.upperBoundOf(Histogram.bucketOf(i)));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package baymax.parser;
+
+import baymax.exception.BaymaxException;
+import baymax.task.Deadline;
+import baymax.task.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandParserTest {
+
+    @Test
+    void parse_markCommand_zeroBasedIndexParsed() throws BaymaxException {
+        Command command = CommandParser.parse("mark 3");
+        assertEquals(CommandType.MARK, command.getType());
+        assertEquals(2, command.getIndex());
+    }
+
+    @Test
+    void parse_deadlineCommand_deadlineTaskCreated() throws BaymaxException {
+        Command command = CommandParser.parse("deadline Submit essay /by 2025-03-01 1800");
+        Deadline deadline = (Deadline) command.getTask();
+        assertEquals("Submit essay", deadline.getDescription());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 18, 0), deadline.getDeadline());
+    }
+
+    @Test
+    void parse_eventCommand_eventTaskCreated() throws BaymaxException {
+        Event event = (Event) CommandParser.parse("event Party /on 2025-03-02 /from 1800 /to 2000").getTask();
+        assertEquals("Party", event.getDescription());
+        assertEquals(LocalTime.of(18, 0), event.getFrom());
+        assertEquals(LocalTime.of(20, 0), event.getTo());
+    }
+
+    @Test
+    void parse_invalidDate_exceptionThrown() {
+        assertThrows(BaymaxException.class, () -> CommandParser.parse("deadline Essay /by 2025-02-30 1800"));
+        assertThrows(BaymaxException.class, () -> CommandParser.parse("mark two"));
+        assertThrows(BaymaxException.class, () -> CommandParser.parse("todox"));
+    }
+}
@@ -0,0 +1,100 @@
+package baymax.server;
+
+import baymax.Baymax;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BaymaxServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BaymaxServer startServer() throws Exception {
+        BaymaxServer server = new BaymaxServer(new Baymax(tempDir.resolve("tasks.txt").toString()), 0, 2);
+        server.start();
+        return server;
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String uri, String command) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(uri)).POST(HttpRequest.BodyPublishers.ofString(command))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void handle_postedCommand_responseReturned() throws Exception {
+        BaymaxServer server = startServer();
+        try {
+            URI uri = URI.create("http://localhost:" + server.getPort() + BaymaxServer.COMMAND_PATH);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString("find nothing-here")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertEquals("There aren't any matching tasks!", response.body());
+
+            HttpResponse<String> bye = client.send(
+                    HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString("bye")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, bye.statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void handle_listParameter_listsKeptSeparate() throws Exception {
+        BaymaxServer server = startServer();
+        try {
+            String base = "http://localhost:" + server.getPort() + BaymaxServer.COMMAND_PATH;
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            HttpResponse<String> switched = client.send(
+                    HttpRequest.newBuilder(URI.create(base)).POST(HttpRequest.BodyPublishers.ofString("switch other"))
+                            .build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, switched.statusCode());
+
+            client.send(HttpRequest.newBuilder(URI.create(base + "?list=other"))
+                    .POST(HttpRequest.BodyPublishers.ofString("todo only in other list")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> found = client.send(
+                    HttpRequest.newBuilder(URI.create(base))
+                            .POST(HttpRequest.BodyPublishers.ofString("find only in other list")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals("There aren't any matching tasks!", found.body());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void handle_byeOrSwitchWithArguments_refused() throws Exception {
+        BaymaxServer server = startServer();
+        try {
+            String uri = "http://localhost:" + server.getPort() + BaymaxServer.COMMAND_PATH;
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            assertEquals(400, post(client, uri, "bye now").statusCode());
+            assertEquals(400, post(client, uri, "switch other now").statusCode());
+            // The server is still running
+            assertEquals(200, post(client, uri, "list").statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void getResponse_byeForNamedList_refused() {
+        Baymax baymax = new Baymax(tempDir.resolve("tasks.txt").toString());
+        assertTrue(baymax.getResponse("bye now", null).startsWith("Error:"));
+        assertTrue(baymax.getResponse("switch other", "tasks").startsWith("Error:"));
+    }
+}
@@ -0,0 +1,87 @@
+package baymax.storage;
+
+import baymax.task.Deadline;
+import baymax.task.Event;
+import baymax.task.Task;
+import baymax.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryTaskFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Task> sampleTasks() {
+        Task todo = new Todo("Read book \u2615", true);
+        Task deadline = new Deadline("Homework", LocalDateTime.of(2025, 2, 23, 23, 59), false);
+        Task event = new Event("Party", LocalDate.of(2025, 2, 28), LocalTime.of(21, 0), LocalTime.of(23, 30), true);
+        todo.setId(1);
+        deadline.setId(2);
+        event.setId(5);
+        return List.of(todo, deadline, event);
+    }
+
+    @Test
+    void read_writtenTasks_sameTasksAndNextId() throws IOException {
+        File file = tempDir.resolve("tasks.bin").toFile();
+        List<Task> tasks = sampleTasks();
+        BinaryTaskFile.write(tasks, 8, file.getPath());
+
+        assertTrue(BinaryTaskFile.isBinary(file));
+        SavedTasks saved = BinaryTaskFile.read(file);
+        assertEquals(8, saved.getNextId());
+        assertEquals(tasks.size(), saved.getTasks().size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toFileFormat(), saved.getTasks().get(i).toFileFormat());
+        }
+    }
+
+    @Test
+    void read_versionOneFile_tasksReadWithoutIds() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x42594D58);
+        out.writeShort(1);
+        out.writeInt(1);
+        out.writeByte(0x80); // A todo that is done
+        byte[] description = "Read book".getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+        File file = tempDir.resolve("tasks.bin").toFile();
+        Files.write(file.toPath(), bytes.toByteArray());
+
+        SavedTasks saved = BinaryTaskFile.read(file);
+        assertEquals(0, saved.getNextId());
+        assertEquals(1, saved.getTasks().size());
+        assertEquals("T | 1 | Read book", saved.getTasks().get(0).toFileFormat());
+    }
+
+    @Test
+    void read_truncatedFile_earlierTasksKept() throws IOException {
+        File file = tempDir.resolve("tasks.bin").toFile();
+        List<Task> tasks = sampleTasks();
+        BinaryTaskFile.write(tasks, 8, file.getPath());
+        byte[] contents = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(contents, contents.length - 3));
+
+        List<Task> loaded = BinaryTaskFile.read(file).getTasks();
+        assertEquals(2, loaded.size());
+        assertEquals(tasks.get(1).toFileFormat(), loaded.get(1).toFileFormat());
+    }
+}
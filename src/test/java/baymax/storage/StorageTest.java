@@ -0,0 +1,134 @@
+package baymax.storage;
+
+import baymax.task.Deadline;
+import baymax.task.Task;
+import baymax.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Task todo(String description, long id) {
+        Task task = new Todo(description, false);
+        task.setId(id);
+        return task;
+    }
+
+    private static List<String> toFileFormat(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.toFileFormat());
+        }
+        return lines;
+    }
+
+    /**
+     * Adds three tasks, deletes the second and marks the last, recording every change in the journal.
+     */
+    private static List<Task> recordChanges(Storage storage) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Task task = todo("Task " + i, i);
+            tasks.add(task);
+            storage.recordAdd(tasks, tasks.size() - 1, task);
+        }
+        tasks.remove(1);
+        storage.recordDelete(tasks, 1);
+        tasks.get(1).markAsDone();
+        storage.recordMark(tasks, 1, true);
+        return tasks;
+    }
+
+    @Test
+    void loadTasks_journaledChanges_sameTasksAsFoldedFile() throws IOException {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path, true);
+        storage.loadTasks();
+        List<Task> tasks = recordChanges(storage);
+        assertTrue(Files.exists(Path.of(path + ".journal")));
+
+        List<String> replayed = toFileFormat(new Storage(path, true).loadTasks());
+        assertEquals(toFileFormat(tasks), replayed);
+
+        storage.saveTasks(tasks);
+        assertFalse(Files.exists(Path.of(path + ".journal")));
+        assertEquals(replayed, toFileFormat(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    void loadTasks_tornJournalRecord_earlierChangesKept() throws IOException {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path, true);
+        storage.loadTasks();
+        List<Task> tasks = recordChanges(storage);
+        Files.writeString(Path.of(path + ".journal"), "+ | 2 | #9 | D | 0 | torn | 2025-01-0",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        Storage reloaded = new Storage(path, true);
+        List<Task> loaded = reloaded.loadTasks();
+        assertEquals(toFileFormat(tasks), toFileFormat(loaded));
+
+        // Changes after the torn record must still be replayed on the next load
+        Task task = todo("Task 4", 4);
+        loaded.add(task);
+        reloaded.recordAdd(loaded, 2, task);
+        assertEquals(toFileFormat(loaded), toFileFormat(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    void loadTasks_journaledMarkById_replayed() throws IOException {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path, true);
+        storage.loadTasks();
+        List<Task> tasks = recordChanges(storage);
+        tasks.get(0).markAsDone();
+        storage.recordMarkById(tasks, tasks.get(0).getId(), true);
+
+        assertEquals(toFileFormat(tasks), toFileFormat(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    void loadTasks_deletedTask_nextIdKept() throws IOException {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path);
+        storage.loadTasks();
+        storage.setNextId(4);
+        storage.saveTasks(List.of(todo("Task 1", 1)));
+
+        Storage reloaded = new Storage(path);
+        assertEquals(1, reloaded.loadTasks().size());
+        assertEquals(4, reloaded.getNextId());
+    }
+
+    @Test
+    void saveTasks_everyFormat_noTemporaryFileLeft() throws IOException {
+        for (StorageFormat format : StorageFormat.values()) {
+            Path directory = Files.createDirectory(tempDir.resolve(format.name()));
+            Storage storage = new Storage(directory.resolve("tasks.txt").toString(), false, format);
+            List<Task> tasks = List.of(todo("Read book", 1),
+                    new Deadline("Homework", LocalDateTime.of(2025, 2, 23, 23, 59), true));
+            storage.saveTasks(tasks);
+            storage.saveTasks(tasks);
+
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.count());
+            }
+            assertEquals(toFileFormat(tasks), toFileFormat(storage.loadTasks()));
+        }
+    }
+}
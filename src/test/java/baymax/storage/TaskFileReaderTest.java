@@ -0,0 +1,62 @@
+package baymax.storage;
+
+import baymax.task.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskFileReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SavedTasks read(String contents) throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.writeString(file, contents, StandardCharsets.UTF_8);
+        return new TaskFileReader().read(file.toFile());
+    }
+
+    @Test
+    void read_corruptedLines_skipped() throws IOException {
+        List<Task> tasks = read("#1 | T | 0 | Read book\n"
+                + "X | 0 | Unknown type\n"
+                + "#x | T | 0 | Bad id\n"
+                + "#2 | D | 0 | Homework | 2025-13-01 2359\n"
+                + "#3 | E | 1 | Party | 2025-02-28 | 21:00\n"
+                + "\n"
+                + "#4 | D | 1 | Homework | 2025-02-23 2359\n").getTasks();
+
+        assertEquals(2, tasks.size());
+        assertEquals("#1 | T | 0 | Read book", tasks.get(0).toFileFormat());
+        assertEquals("#4 | D | 1 | Homework | 2025-02-23 2359", tasks.get(1).toFileFormat());
+    }
+
+    @Test
+    void read_windowsLineEndingsAndUnicode_sameTasks() throws IOException {
+        SavedTasks saved = read("#next | 7\r\n"
+                + "#5 | T | 0 | Caf\u00e9 \u2615 \u8aad\u66f8\r\n"
+                + "#6 | E | 0 | Party \ud83c\udf89 | 2025-02-28 | 21:00 | 23:30\r\n");
+
+        assertEquals(7, saved.getNextId());
+        assertEquals(2, saved.getTasks().size());
+        assertEquals("#5 | T | 0 | Caf\u00e9 \u2615 \u8aad\u66f8", saved.getTasks().get(0).toFileFormat());
+        assertEquals("#6 | E | 0 | Party \ud83c\udf89 | 2025-02-28 | 21:00 | 23:30", saved.getTasks().get(1).toFileFormat());
+    }
+
+    @Test
+    void read_noTrailingNewline_lastLineRead() throws IOException {
+        SavedTasks saved = read("T | 1 | Read book\nT | 0 | Write essay");
+
+        assertEquals(0, saved.getNextId());
+        assertEquals(2, saved.getTasks().size());
+        assertEquals(0, saved.getTasks().get(1).getId());
+        assertEquals("T | 0 | Write essay", saved.getTasks().get(1).toFileFormat());
+    }
+}
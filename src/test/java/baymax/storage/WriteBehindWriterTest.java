@@ -0,0 +1,59 @@
+package baymax.storage;
+
+import baymax.task.Task;
+import baymax.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void close_pendingSave_writtenBeforeReturning() throws IOException {
+        String path = tempDir.resolve("tasks.txt").toString();
+        // The delay is long enough that only closing can write the tasks in time
+        Storage storage = new Storage(path, false, StorageFormat.TEXT, 60_000);
+        List<Task> tasks = new ArrayList<>(List.of(new Todo("Read book", false)));
+        storage.saveTasks(tasks);
+        tasks.get(0).markAsDone();
+        storage.close();
+
+        List<Task> loaded = new Storage(path).loadTasks();
+        assertEquals(1, loaded.size());
+        // The save was a copy of the tasks, taken before the task was marked
+        assertFalse(loaded.get(0).isDone());
+    }
+
+    @Test
+    void saveTasks_afterClose_savedStraightAway() throws IOException {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path, false, StorageFormat.TEXT, 60_000);
+        storage.close();
+        storage.saveTasks(List.of(new Todo("Read book", false)));
+
+        assertEquals(1, new Storage(path).loadTasks().size());
+    }
+
+    @Test
+    void saveTasks_afterFlushWithNothingPending_stillDelayed() throws Exception {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path, false, StorageFormat.TEXT, 60_000);
+        storage.flush();
+        storage.saveTasks(List.of(new Todo("Read book", false)));
+        Thread.sleep(200);
+
+        assertFalse(Files.exists(Path.of(path)));
+        storage.close();
+        assertTrue(Files.exists(Path.of(path)));
+    }
+}
@@ -0,0 +1,32 @@
+package baymax.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateLabelsTest {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy");
+
+    @Test
+    void of_sameDate_sameLabelReturned() {
+        DateLabels<LocalDate> labels = new DateLabels<>(FORMAT, 2);
+        String label = labels.of(LocalDate.of(2025, 2, 28));
+        assertEquals("Feb 28 2025", label);
+        assertSame(label, labels.of(LocalDate.of(2025, 2, 28)));
+    }
+
+    @Test
+    void of_moreDatesThanMax_oldLabelsDropped() {
+        DateLabels<LocalDate> labels = new DateLabels<>(FORMAT, 2);
+        String first = labels.of(LocalDate.of(2025, 2, 1));
+        labels.of(LocalDate.of(2025, 2, 2));
+        labels.of(LocalDate.of(2025, 2, 3));
+        String again = labels.of(LocalDate.of(2025, 2, 1));
+        assertEquals(first, again);
+        assertNotSame(first, again);
+    }
+}
@@ -0,0 +1,79 @@
+package baymax.tasklist;
+
+import baymax.task.Deadline;
+import baymax.task.Event;
+import baymax.task.Task;
+import baymax.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactTaskStoreTest {
+
+    @Test
+    void get_everyTaskType_sameTaskReturned() {
+        Task todo = new Todo("Read book", true);
+        Task deadline = new Deadline("Homework", LocalDateTime.of(2025, 2, 23, 23, 59), false);
+        Task event = new Event("Party", LocalDate.of(2025, 2, 28), LocalTime.of(21, 0), LocalTime.of(23, 30), true);
+        todo.setId(1);
+        deadline.setId(2);
+        event.setId(3);
+
+        CompactTaskStore store = new CompactTaskStore(List.of(todo, deadline, event));
+        assertEquals(3, store.size());
+        for (int i = 0; i < 3; i++) {
+            Task task = List.of(todo, deadline, event).get(i);
+            assertEquals(task.toFileFormat(), store.get(i).toFileFormat());
+        }
+        assertEquals(2, store.indexOfId(3));
+    }
+
+    @Test
+    void addAndRemove_middleOfList_statusMovesWithTask() {
+        CompactTaskStore store = new CompactTaskStore(List.of(
+                new Todo("a", true), new Todo("b", false), new Todo("c", true)));
+        store.add(1, new Todo("new", false));
+        assertEquals("a b c", store.get(0).getDescription() + " " + store.get(2).getDescription()
+                + " " + store.get(3).getDescription());
+        assertTrue(store.get(3).isDone());
+
+        store.remove(0);
+        assertEquals("new", store.get(0).getDescription());
+        assertFalse(store.get(1).isDone());
+        assertTrue(store.get(2).isDone());
+    }
+
+    @Test
+    void removeAll_selectedTasks_restKeptInOrder() {
+        CompactTaskStore store = new CompactTaskStore(List.of(
+                new Todo("a", false), new Todo("b", true), new Todo("c", false), new Todo("d", true)));
+        BitSet selected = new BitSet();
+        selected.set(0);
+        selected.set(2);
+        store.removeAll(selected);
+        assertEquals(2, store.size());
+        assertEquals("b", store.get(0).getDescription());
+        assertTrue(store.get(1).isDone());
+    }
+
+    @Test
+    void copy_originalChanged_copyUnchanged() {
+        CompactTaskStore store = new CompactTaskStore(List.of(new Todo("a", false), new Todo("b", true)));
+        CompactTaskStore copy = store.copy();
+        store.set(0, new Todo("changed", true));
+        store.remove(1);
+        copy.add(new Todo("c", false));
+
+        assertEquals(1, store.size());
+        assertEquals("a", copy.get(0).getDescription());
+        assertFalse(copy.get(0).isDone());
+        assertTrue(copy.get(1).isDone());
+        assertEquals("c", copy.get(2).getDescription());
+    }
+}
@@ -0,0 +1,59 @@
+package baymax.tasklist;
+
+import baymax.exception.BaymaxException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskListRegistryTest {
+
+    @Test
+    void acquire_sameName_loadedOnce() {
+        List<String> loaded = new ArrayList<>();
+        TaskListRegistry registry = new TaskListRegistry(2, name -> {
+            loaded.add(name);
+            return new TaskList();
+        });
+
+        TaskList first = registry.acquire("work");
+        assertSame(first, registry.acquire("work"));
+        assertEquals(List.of("work"), loaded);
+    }
+
+    @Test
+    void release_moreListsThanMaximum_leastRecentlyUsedIdleListUnloaded() throws BaymaxException {
+        TaskListRegistry registry = new TaskListRegistry(2, name -> new TaskList());
+        registry.acquire("home").addTodo("todo Read book");
+        registry.release("home");
+        registry.acquire("work");
+        registry.release("work");
+        registry.acquire("home");
+        registry.release("home");
+        registry.acquire("school");
+        registry.release("school");
+
+        assertTrue(registry.isLoaded("home"));
+        assertFalse(registry.isLoaded("work"));
+        assertTrue(registry.isLoaded("school"));
+        assertEquals(1, registry.acquire("home").getTasks().size());
+    }
+
+    @Test
+    void acquire_moreListsInUseThanMaximum_noListUnloadedUntilReleased() {
+        TaskListRegistry registry = new TaskListRegistry(1, name -> new TaskList());
+        TaskList home = registry.acquire("home");
+        registry.acquire("work");
+
+        assertTrue(registry.isLoaded("home"));
+        assertTrue(registry.isLoaded("work"));
+        assertSame(home, registry.acquire("home"));
+
+        registry.release("home");
+        registry.release("home");
+        assertFalse(registry.isLoaded("home"));
+        assertTrue(registry.isLoaded("work"));
+    }
+}
@@ -1,8 +1,17 @@
 package baymax.tasklist;
 
 import baymax.exception.BaymaxException;
+import baymax.storage.Storage;
+import baymax.task.Task;
+import baymax.task.TaskType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -10,6 +19,9 @@ public class TaskListTest {
 
     private TaskList taskList;
 
+    @TempDir
+    Path tempDir;
+
     @BeforeEach
     void setUp() {
         taskList = new TaskList(); // Use empty constructor to avoid file I/O
@@ -56,4 +68,261 @@ public class TaskListTest {
     void markTask_invalidIndex_exceptionThrown() {
         assertThrows(BaymaxException.class, () -> taskList.markTask(0, true));
     }
+
+    @Test
+    void findTask_matchingKeyword_tasksFoundInListOrder() throws BaymaxException {
+        taskList.addTodo("todo Read Book");
+        taskList.addTodo("todo cook dinner");
+        taskList.addTodo("todo notebook");
+
+        String response = taskList.findTask("book");
+        assertTrue(response.contains("1. [T][ ] Read Book"));
+        assertTrue(response.contains("2. [T][ ] notebook"));
+        assertFalse(response.contains("cook dinner"));
+    }
+
+    @Test
+    void findTask_deletedTask_taskNotFound() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.deleteTask(0);
+        assertEquals("There aren't any matching tasks!", taskList.findTask("book"));
+    }
+
+    @Test
+    void undo_deletedTask_taskRestoredAtSameIndex() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.addTodo("todo Write essay");
+        taskList.deleteTask(0);
+
+        taskList.undo();
+        assertEquals(2, taskList.getTasks().size());
+        assertEquals("Read book", taskList.getTasks().get(0).getDescription());
+    }
+
+    @Test
+    void undo_beyondHistoryLimit_nothingToUndo() throws BaymaxException {
+        taskList = new TaskList(null, 1);
+        taskList.addTodo("todo Read book");
+        taskList.addTodo("todo Write essay");
+
+        taskList.undo();
+        assertEquals("There is nothing to undo!", taskList.undo());
+        assertEquals(1, taskList.getTasks().size());
+    }
+
+    @Test
+    void undo_markAfterAdd_undoneInCommandOrder() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.markTask(0, true);
+        taskList.addTodo("todo Write essay");
+
+        taskList.undo();
+        assertEquals(1, taskList.getTasks().size());
+        assertTrue(taskList.getTasks().get(0).isDone());
+    }
+
+    @Test
+    void redo_undoneDelete_taskDeletedAgain() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.deleteTask(0);
+        taskList.undo();
+
+        taskList.redo();
+        assertEquals(0, taskList.getTasks().size());
+        assertEquals("There is nothing to redo!", taskList.redo());
+    }
+
+    @Test
+    void findBetween_tasksInRange_tasksFoundEarliestFirst() throws BaymaxException {
+        taskList.addDeadline("deadline homework /by 2025-03-20 1400");
+        taskList.addEvent("event party /on 2025-03-02 /from 2100 /to 2330");
+        taskList.addDeadline("deadline project /by 2025-05-01 2359");
+
+        String response = taskList.findBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+        assertTrue(response.indexOf("party") < response.indexOf("homework"));
+        assertFalse(response.contains("project"));
+    }
+
+    @Test
+    void findDue_deletedDeadline_taskNotFound() throws BaymaxException {
+        taskList.addDeadline("deadline homework /by 2025-03-20 1400");
+        taskList.deleteTask(0);
+        assertEquals("There aren't any matching tasks!", taskList.findDue(LocalDate.of(2025, 3, 20)));
+    }
+
+    @Test
+    void listTasks_offsetAndLimit_onlyPageShown() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.addTodo("todo Write essay");
+        taskList.addTodo("todo Eat dinner");
+
+        String response = taskList.listTasks(1, 1);
+        assertTrue(response.contains("2. [T][ ] Write essay"));
+        assertFalse(response.contains("Read book"));
+        assertFalse(response.contains("Eat dinner"));
+    }
+
+    @Test
+    void listTasks_markedTask_updatedStatusShown() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.listTasks();
+
+        taskList.markTask(0, true);
+        assertTrue(taskList.listTasks().contains("1. [T][X] Read book"));
+    }
+
+    @Test
+    void undo_afterTransaction_wholeTransactionReverted() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.beginTransaction();
+        taskList.addTodo("todo Write essay");
+        taskList.markTask(0, true);
+        taskList.deleteTask(1);
+        taskList.commitTransaction();
+
+        taskList.undo();
+        assertEquals(1, taskList.getTasks().size());
+        assertFalse(taskList.getTasks().get(0).isDone());
+    }
+
+    @Test
+    void addTodo_manyThreads_everyTaskAddedAndUndoable() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 20; j++) {
+                    try {
+                        taskList.addTodo("todo Read book");
+                        taskList.findTask("book");
+                    } catch (BaymaxException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80, taskList.getTasks().size());
+        taskList.undo();
+        assertEquals(79, taskList.getTasks().size());
+    }
+
+    @Test
+    void deleteTasks_doneTasks_removedAndRestoredByOneUndo() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.addTodo("todo Write essay");
+        taskList.addTodo("todo Eat dinner");
+        taskList.markTask(0, true);
+        taskList.markTask(2, true);
+
+        taskList.deleteTasks(TaskSelector.done());
+        assertEquals(1, taskList.getTasks().size());
+        assertEquals("Write essay", taskList.getTasks().get(0).getDescription());
+
+        taskList.undo();
+        assertEquals(3, taskList.getTasks().size());
+        assertEquals("Eat dinner", taskList.getTasks().get(2).getDescription());
+        assertTrue(taskList.findTask("dinner").contains("Eat dinner"));
+    }
+
+    @Test
+    void markTasks_range_everyTaskInRangeMarked() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.addTodo("todo Write essay");
+        taskList.addTodo("todo Eat dinner");
+
+        taskList.markTasks(TaskSelector.ofRanges(new int[] {1, 3}), true);
+        assertFalse(taskList.getTasks().get(0).isDone());
+        assertTrue(taskList.getTasks().get(1).isDone());
+        assertTrue(taskList.getTasks().get(2).isDone());
+    }
+
+    @Test
+    void markTaskById_afterEarlierDelete_sameTaskMarked() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.addTodo("todo Write essay");
+        long id = taskList.getTasks().get(1).getId();
+
+        taskList.deleteTask(0);
+        taskList.markTaskById(id, true);
+        assertTrue(taskList.getTask(id).isDone());
+        assertEquals("Write essay", taskList.getTask(id).getDescription());
+        assertThrows(BaymaxException.class, () -> taskList.markTaskById(id + 1, true));
+    }
+
+    @Test
+    void markTaskById_undoAndRedo_statusRestored() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        long id = taskList.getTasks().get(0).getId();
+
+        taskList.markTaskById(id, true);
+        taskList.undo();
+        assertFalse(taskList.getTask(id).isDone());
+        taskList.redo();
+        assertTrue(taskList.getTask(id).isDone());
+    }
+
+    @Test
+    void getTask_copyChanged_listUnchanged() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        long id = taskList.getTasks().get(0).getId();
+
+        taskList.getTask(id).markAsDone();
+        assertFalse(taskList.getTask(id).isDone());
+    }
+
+    @Test
+    void markTask_compactList_changeKeptAndUndoable() throws BaymaxException {
+        TaskList compactList = new TaskList(null, TaskList.DEFAULT_HISTORY_LIMIT, true);
+        compactList.addTodo("todo Read book");
+        compactList.addDeadline("deadline Homework /by 2025-02-23 2359");
+
+        compactList.markTask(1, true);
+        assertTrue(compactList.getTasks().get(1).isDone());
+        assertTrue(compactList.findDue(LocalDate.of(2025, 2, 23)).contains("Homework"));
+
+        compactList.undo();
+        assertFalse(compactList.getTasks().get(1).isDone());
+    }
+
+    @Test
+    void compactList_loadedWithoutIds_idsAssignedAndFilterable() throws IOException, BaymaxException {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.writeString(file, "T | 0 | Read book\nT | 1 | Write essay\n");
+        TaskList compactList = new TaskList(new Storage(file.toString()), TaskList.DEFAULT_HISTORY_LIMIT, true);
+
+        long firstId = compactList.getTasks().get(0).getId();
+        long secondId = compactList.getTasks().get(1).getId();
+        assertTrue(firstId > 0 && secondId > 0 && firstId != secondId);
+        assertEquals("Write essay", compactList.getTask(secondId).getDescription());
+        assertEquals(1, compactList.filterTasks(Task::isDone).size());
+        assertEquals(2, compactList.sortTasks(SortKey.DESCRIPTION).size());
+    }
+
+    @Test
+    void sortTasks_byDate_listNumbersKeptAndListUnchanged() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.addDeadline("deadline Homework /by 2025-05-01 1200");
+        taskList.addDeadline("deadline Essay /by 2025-02-23 2359");
+
+        String sorted = taskList.sortTasks(SortKey.DATE).listTasks(0, 20);
+        assertTrue(sorted.indexOf("3. [D]") < sorted.indexOf("2. [D]"));
+        assertTrue(sorted.indexOf("2. [D]") < sorted.indexOf("1. [T]"));
+        assertEquals("Read book", taskList.getTasks().get(0).getDescription());
+    }
+
+    @Test
+    void filterTasks_typeAndDone_onlyMatchingTasksShown() throws BaymaxException {
+        taskList.addTodo("todo Read book");
+        taskList.addDeadline("deadline Homework /by 2025-05-01 1200");
+        taskList.addDeadline("deadline Essay /by 2025-02-23 2359");
+        taskList.markTask(2, true);
+
+        TaskView view = taskList.filterTasks(new TaskFilter(TaskType.DEADLINE, false, LocalDate.of(2025, 6, 1), null));
+        assertEquals(1, view.size());
+        assertTrue(view.listTasks(0, 20).contains("2. [D][ ] Homework"));
+    }
 }